@@ -0,0 +1,180 @@
+package com.github.bartimaeusnek.bartworks.util;
+
+import java.util.HashSet;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.material.Material;
+import net.minecraft.world.World;
+
+/**
+ * Times {@link ConnectedBlocksChecker#get_connected} against the recursive search it replaced, on solid shapes of one
+ * block type. Both read the same in-memory grid instead of a world, so only the search itself is compared, not the
+ * chunk lookups. Prints the best of {@link #RUNS} runs per shape after {@link #WARMUP} warmup runs.
+ */
+public class ConnectedBlocksCheckerBenchmark {
+
+    private static final int WARMUP = 10;
+    private static final int RUNS = 30;
+    // the recursive search goes one frame deeper per block
+    private static final long RECURSIVE_STACK_SIZE = 512L << 20;
+
+    private static final Block CELL = new Block(Material.rock) {};
+    private static final Block AIR = new Block(Material.air) {};
+
+    public static void main(String[] args) throws InterruptedException {
+        bench("cube 22x22x22", new Grid(22, 22, 22));
+        bench("slab 120x2x120", new Grid(120, 2, 120));
+        bench("cube 32x32x32", new Grid(32, 32, 32));
+    }
+
+    private static void bench(String name, Grid grid) throws InterruptedException {
+        long[] iterative = new long[2];
+        long[] recursive = new long[2];
+        time(iterative, () -> {
+            IterativeChecker checker = new IterativeChecker(grid);
+            return checker.get_connected(null, 0, 0, 0, CELL);
+        });
+        // run on a thread of its own, the recursion does not fit the default stack
+        Thread thread = new Thread(null, () -> time(recursive, () -> {
+            RecursiveChecker checker = new RecursiveChecker(grid);
+            return checker.get_connected(0, 0, 0, CELL);
+        }), "recursive search", RECURSIVE_STACK_SIZE);
+        thread.start();
+        thread.join();
+
+        if (iterative[1] != recursive[1]) throw new IllegalStateException(
+                name + ": iterative found " + iterative[1] + " blocks, recursive " + recursive[1]);
+        System.out.printf(
+                "%-16s %7d blocks  iterative %8.3f ms  recursive %8.3f ms%n",
+                name,
+                iterative[1] + 1,
+                iterative[0] / 1e6,
+                recursive[0] / 1e6);
+    }
+
+    private interface Search {
+
+        int run();
+    }
+
+    /**
+     * @param result filled with the best time in ns and the amount of found blocks
+     */
+    private static void time(long[] result, Search search) {
+        for (int i = 0; i < WARMUP; i++) search.run();
+        long best = Long.MAX_VALUE;
+        int found = 0;
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            found = search.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        result[0] = best;
+        result[1] = found;
+    }
+
+    /**
+     * A box of {@link #CELL} blocks starting at 0, 0, 0, everything around it is {@link #AIR}.
+     */
+    private static class Grid {
+
+        private final int sizeX, sizeY, sizeZ;
+
+        private Grid(int sizeX, int sizeY, int sizeZ) {
+            this.sizeX = sizeX;
+            this.sizeY = sizeY;
+            this.sizeZ = sizeZ;
+        }
+
+        private Block getBlock(int x, int y, int z) {
+            return x >= 0 && y >= 0 && z >= 0 && x < this.sizeX && y < this.sizeY && z < this.sizeZ ? CELL : AIR;
+        }
+    }
+
+    private static class IterativeChecker extends ConnectedBlocksChecker {
+
+        private final Grid grid;
+
+        private IterativeChecker(Grid grid) {
+            this.grid = grid;
+        }
+
+        @Override
+        protected Block getBlock(World w, int x, int y, int z) {
+            return this.grid.getBlock(x, y, z);
+        }
+    }
+
+    /**
+     * The search {@link ConnectedBlocksChecker} used before, reading the grid instead of the world.
+     */
+    private static class RecursiveChecker {
+
+        private final HashSet<Coords> hashset = new HashSet<>(2048);
+        private final Grid grid;
+
+        private RecursiveChecker(Grid grid) {
+            this.grid = grid;
+        }
+
+        private int get_connected(int x, int y, int z, Block b) {
+            int ret = 0;
+
+            byte sides = this.check_sourroundings(x, y, z, b);
+
+            if ((sides | 0b111011) == 0b111111 && !this.hashset.contains(new Coords(x + 1, y, z, 0))) {
+                ret++;
+                ret += this.get_connected(x + 1, y, z, b);
+            }
+
+            if ((sides | 0b110111) == 0b111111 && !this.hashset.contains(new Coords(x - 1, y, z, 0))) {
+                ret++;
+                ret += this.get_connected(x - 1, y, z, b);
+            }
+
+            if ((sides | 0b101111) == 0b111111 && !this.hashset.contains(new Coords(x, y, z + 1, 0))) {
+                ret++;
+                ret += this.get_connected(x, y, z + 1, b);
+            }
+
+            if ((sides | 0b011111) == 0b111111 && !this.hashset.contains(new Coords(x, y, z - 1, 0))) {
+                ret++;
+                ret += this.get_connected(x, y, z - 1, b);
+            }
+
+            if ((sides | 0b111110) == 0b111111 && !this.hashset.contains(new Coords(x, y + 1, z, 0))) {
+                ret++;
+                ret += this.get_connected(x, y + 1, z, b);
+            }
+
+            if ((sides | 0b111101) == 0b111111 && !this.hashset.contains(new Coords(x, y - 1, z, 0))) {
+                ret++;
+                ret += this.get_connected(x, y - 1, z, b);
+            }
+
+            return ret;
+        }
+
+        private byte check_sourroundings(int x, int y, int z, Block b) {
+            byte ret = 0;
+
+            if (this.hashset.contains(new Coords(x, y, z, 0))) return ret;
+
+            this.hashset.add(new Coords(x, y, z, 0));
+
+            if (this.grid.getBlock(x + 1, y, z).equals(b)) ret = (byte) (ret | 0b000100);
+
+            if (this.grid.getBlock(x - 1, y, z).equals(b)) ret = (byte) (ret | 0b001000);
+
+            if (this.grid.getBlock(x, y, z + 1).equals(b)) ret = (byte) (ret | 0b010000);
+
+            if (this.grid.getBlock(x, y, z - 1).equals(b)) ret = (byte) (ret | 0b100000);
+
+            if (this.grid.getBlock(x, y + 1, z).equals(b)) ret = (byte) (ret | 0b000001);
+
+            if (this.grid.getBlock(x, y - 1, z).equals(b)) ret = (byte) (ret | 0b000010);
+
+            return ret;
+        }
+    }
+}
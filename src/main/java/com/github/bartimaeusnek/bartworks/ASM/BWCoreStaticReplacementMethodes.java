@@ -13,30 +13,111 @@
 
 package com.github.bartimaeusnek.bartworks.ASM;
 
-import java.util.HashSet;
 import java.util.Iterator;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 import net.minecraft.inventory.InventoryCrafting;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
-import net.minecraft.item.crafting.CraftingManager;
 import net.minecraft.item.crafting.IRecipe;
 import net.minecraft.world.World;
 
-import com.github.bartimaeusnek.bartworks.util.NonNullWrappedHashSet;
+import com.github.bartimaeusnek.bartworks.common.configs.ConfigHandler;
+import com.github.bartimaeusnek.bartworks.util.CraftingRecipeIndex;
 import com.github.bartimaeusnek.bartworks.util.accessprioritylist.AccessPriorityList;
 import com.github.bartimaeusnek.bartworks.util.accessprioritylist.AccessPriorityListNode;
 
 public class BWCoreStaticReplacementMethodes {
 
-    private static ThreadLocal<AccessPriorityList<IRecipe>> RECENTLYUSEDRECIPES = ThreadLocal
-            .withInitial(AccessPriorityList::new);
+    private static ThreadLocal<RecentRecipes> RECENTLYUSEDRECIPES = ThreadLocal.withInitial(RecentRecipes::new);
+    private static ThreadLocal<GridCache> GRIDCACHE = ThreadLocal.withInitial(GridCache::new);
+    private static final AtomicLong CACHEHITS = new AtomicLong();
+    private static final AtomicLong CACHEMISSES = new AtomicLong();
+
+    /**
+     * Last recently used crafting grids by {@link #fingerprint(InventoryCrafting)}, the recipe still has to be checked
+     * as different grids may share a fingerprint.
+     */
+    private static class GridCache extends LinkedHashMap<Long, IRecipe> {
+
+        private static final long serialVersionUID = 1L;
+
+        GridCache() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, IRecipe> eldest) {
+            return this.size() > ConfigHandler.craftingCacheSize;
+        }
+    }
+
+    /**
+     * Recently used recipes, tested most used first from {@link #byUses}. This map keeps them in the order they were
+     * last hit, so the least recently hit one is dropped once the cache is full.
+     */
+    private static class RecentRecipes extends LinkedHashMap<IRecipe, AccessPriorityListNode<IRecipe>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final AccessPriorityList<IRecipe> byUses = new AccessPriorityList<>();
+
+        RecentRecipes() {
+            super(16, 0.75f, true);
+        }
+
+        void add(IRecipe recipe) {
+            if (this.containsKey(recipe)) return;
+            this.byUses.addLast(recipe);
+            this.put(recipe, this.byUses.getLastNode());
+        }
+
+        void hit(AccessPriorityListNode<IRecipe> node) {
+            this.byUses.addPrioToNode(node);
+            this.get(node.getELEMENT());
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<IRecipe, AccessPriorityListNode<IRecipe>> eldest) {
+            if (this.size() <= ConfigHandler.craftingCacheSize) return false;
+            this.byUses.removeNode(eldest.getValue());
+            return true;
+        }
+    }
 
     public static void clearRecentlyUsedRecipes() {
         // the easiest way to ensure the cache is flushed without causing synchronization overhead
         // is to just replace the whole ThreadLocal instance.
-        RECENTLYUSEDRECIPES = ThreadLocal.withInitial(AccessPriorityList::new);
+        RECENTLYUSEDRECIPES = ThreadLocal.withInitial(RecentRecipes::new);
+        GRIDCACHE = ThreadLocal.withInitial(GridCache::new);
+        CraftingRecipeIndex.invalidate();
+    }
+
+    /**
+     * @return how many lookups were answered by one of the caches since the game started
+     */
+    public static long getCacheHits() {
+        return CACHEHITS.get();
+    }
+
+    /**
+     * @return how many lookups had to go to the {@link CraftingRecipeIndex} since the game started
+     */
+    public static long getCacheMisses() {
+        return CACHEMISSES.get();
+    }
+
+    private static long fingerprint(InventoryCrafting inventoryCrafting) {
+        long hash = inventoryCrafting.getSizeInventory();
+        for (int j = 0; j < inventoryCrafting.getSizeInventory(); ++j) {
+            ItemStack stack = inventoryCrafting.getStackInSlot(j);
+            long slot = stack == null || stack.getItem() == null ? 0L
+                    : ((long) Item.getIdFromItem(stack.getItem()) << 16 | stack.getItemDamage() & 0xFFFFL) + 1L;
+            hash = (hash ^ slot) * 0x9E3779B97F4A7C15L;
+        }
+        return hash;
     }
 
     public static ItemStack findCachedMatchingRecipe(InventoryCrafting inventoryCrafting, World world) {
@@ -72,9 +153,16 @@ public class BWCoreStaticReplacementMethodes {
             return new ItemStack(itemstack.getItem(), 1, i1);
 
         }
-        IRecipe iPossibleRecipe = null;
-        AccessPriorityList<IRecipe> cache = RECENTLYUSEDRECIPES.get();
-        Iterator<AccessPriorityListNode<IRecipe>> it = cache.nodeIterator();
+        long fingerprint = fingerprint(inventoryCrafting);
+        GridCache grids = GRIDCACHE.get();
+        IRecipe iPossibleRecipe = grids.get(fingerprint);
+        if (iPossibleRecipe != null && iPossibleRecipe.matches(inventoryCrafting, world)) {
+            CACHEHITS.incrementAndGet();
+            return iPossibleRecipe.getCraftingResult(inventoryCrafting);
+        }
+
+        RecentRecipes cache = RECENTLYUSEDRECIPES.get();
+        Iterator<AccessPriorityListNode<IRecipe>> it = cache.byUses.nodeIterator();
 
         while (it.hasNext()) {
             AccessPriorityListNode<IRecipe> recipeNode = it.next();
@@ -82,27 +170,27 @@ public class BWCoreStaticReplacementMethodes {
 
             if (!iPossibleRecipe.matches(inventoryCrafting, world)) continue;
 
-            cache.addPrioToNode(recipeNode);
+            CACHEHITS.incrementAndGet();
+            cache.hit(recipeNode);
+            grids.put(fingerprint, iPossibleRecipe);
             return iPossibleRecipe.getCraftingResult(inventoryCrafting);
         }
 
-        HashSet<IRecipe> recipeSet = new NonNullWrappedHashSet<>();
-        List<IRecipe> recipeList = CraftingManager.getInstance().getRecipeList();
-
-        for (IRecipe r : recipeList) {
-            if (r.matches(inventoryCrafting, world)) recipeSet.add(r);
-        }
+        CACHEMISSES.incrementAndGet();
 
-        Object[] arr = recipeSet.toArray();
+        boolean[] unique = new boolean[1];
+        IRecipe recipe = CraftingRecipeIndex.findMatchingRecipe(inventoryCrafting, world, unique);
 
-        if (arr.length == 0) return null;
+        if (recipe == null) return null;
 
-        IRecipe recipe = (IRecipe) arr[0];
         ItemStack stack = recipe.getCraftingResult(inventoryCrafting);
 
-        if (arr.length != 1) return stack;
+        if (!unique[0]) return stack;
 
-        if (stack != null) cache.addLast(recipe);
+        if (stack != null) {
+            cache.add(recipe);
+            grids.put(fingerprint, recipe);
+        }
 
         return stack;
     }
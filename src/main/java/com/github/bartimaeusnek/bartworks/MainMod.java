@@ -34,6 +34,7 @@ import com.github.bartimaeusnek.bartworks.API.API_REFERENCE;
 import com.github.bartimaeusnek.bartworks.API.BioObjectAdder;
 import com.github.bartimaeusnek.bartworks.API.BioVatLogicAdder;
 import com.github.bartimaeusnek.bartworks.API.SideReference;
+import com.github.bartimaeusnek.bartworks.client.ClientEventHandler.TooltipCache;
 import com.github.bartimaeusnek.bartworks.client.ClientEventHandler.TooltipEventHandler;
 import com.github.bartimaeusnek.bartworks.client.creativetabs.BioTab;
 import com.github.bartimaeusnek.bartworks.client.creativetabs.GT2Tab;
@@ -54,13 +55,17 @@ import com.github.bartimaeusnek.bartworks.common.loaders.StaticRecipeChangeLoade
 import com.github.bartimaeusnek.bartworks.common.net.BW_Network;
 import com.github.bartimaeusnek.bartworks.neiHandler.IMCForNEI;
 import com.github.bartimaeusnek.bartworks.server.EventHandler.ServerEventHandler;
+import com.github.bartimaeusnek.bartworks.system.material.BW_MetaGeneratedBlockSync;
+import com.github.bartimaeusnek.bartworks.system.material.BW_MetaGeneratedOreStorage;
 import com.github.bartimaeusnek.bartworks.system.material.CircuitGeneration.CircuitImprintLoader;
 import com.github.bartimaeusnek.bartworks.system.material.CircuitGeneration.CircuitPartLoader;
 import com.github.bartimaeusnek.bartworks.system.material.GT_Enhancement.PlatinumSludgeOverHaul;
 import com.github.bartimaeusnek.bartworks.system.material.Werkstoff;
+import com.github.bartimaeusnek.bartworks.system.material.WerkstoffItemStackTable;
 import com.github.bartimaeusnek.bartworks.system.material.WerkstoffLoader;
 import com.github.bartimaeusnek.bartworks.system.material.processingLoaders.DownTierLoader;
 import com.github.bartimaeusnek.bartworks.system.oredict.OreDictHandler;
+import com.github.bartimaeusnek.bartworks.util.RecipeOccurrenceIndex;
 import com.github.bartimaeusnek.bartworks.util.ResultWrongSievert;
 import com.github.bartimaeusnek.bartworks.util.log.DebugLog;
 
@@ -126,6 +131,7 @@ public final class MainMod {
         }
 
         WerkstoffLoader.setUp();
+        MinecraftForge.EVENT_BUS.register(WerkstoffItemStackTable.INSTANCE);
 
         if (ConfigHandler.BioLab) {
             BioCultureLoader.run();
@@ -148,6 +154,9 @@ public final class MainMod {
             MinecraftForge.EVENT_BUS.register(serverEventHandler);
         }
         FMLCommonHandler.instance().bus().register(serverEventHandler);
+        MinecraftForge.EVENT_BUS.register(BW_MetaGeneratedBlockSync.INSTANCE);
+        FMLCommonHandler.instance().bus().register(BW_MetaGeneratedBlockSync.INSTANCE);
+        MinecraftForge.EVENT_BUS.register(BW_MetaGeneratedOreStorage.INSTANCE);
         if (ConfigHandler.BioLab) {
             BioLabLoader.run();
         }
@@ -202,12 +211,15 @@ public final class MainMod {
 
         runOnServerStarted();
         StaticRecipeChangeLoaders.unificationRecipeEnforcer();
+        RecipeOccurrenceIndex.release();
     }
 
     private static boolean recipesAdded;
 
     public static void runOnPlayerJoined(boolean classicMode, boolean disableExtraGasRecipes) {
         OreDictHandler.adaptCacheForWorld();
+        // singleplayer and LAN hosts never get the OreDictCachePacket
+        if (SideReference.Side.Client) TooltipCache.setSharedItemStacks(OreDictHandler.getNonBWCache());
         CircuitImprintLoader.run();
         BioVatLogicAdder.RadioHatch.runBasicItemIntegration();
         if (!recipesAdded) {
@@ -14,39 +14,93 @@
 package com.github.bartimaeusnek.bartworks.client.ClientEventHandler;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 
+import net.minecraft.block.Block;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 
+import com.github.bartimaeusnek.bartworks.MainMod;
+import com.github.bartimaeusnek.bartworks.util.ChatColorHelper;
 import com.github.bartimaeusnek.bartworks.util.Pair;
+import com.github.bartimaeusnek.crossmod.BartWorksCrossmod;
 
-class TooltipCache {
+import cpw.mods.fml.common.Loader;
+import cpw.mods.fml.common.ModContainer;
+import cpw.mods.fml.common.registry.GameRegistry;
 
-    private static final HashMap<Pair<Integer, Short>, char[]> cache = new HashMap<>();
+/**
+ * Finished tooltip lines per Item id and meta. The shared ItemStack lines are built in one go whenever the OreDict
+ * cache is adapted to the world or sent by the server, hovering only does map lookups.
+ */
+public class TooltipCache {
 
-    static boolean put(ItemStack itemStack, List<String> tooltip) {
-        Pair<Integer, Short> p = new Pair<>(Item.getIdFromItem(itemStack.getItem()), (short) itemStack.getItemDamage());
-        if (TooltipCache.cache.containsKey(p) || tooltip.isEmpty()) {
-            return false;
-        }
-        StringBuilder sb = new StringBuilder();
-        for (String s : tooltip) {
-            sb.append(s);
-            sb.append(System.lineSeparator());
-        }
-        char[] rettype = sb.toString().toCharArray();
-        return TooltipCache.cache.put(p, rettype) == rettype;
+    private static final HashMap<Integer, List<String>> cache = new HashMap<>();
+    private static final HashMap<Integer, String> sharedItemStackLines = new HashMap<>();
+
+    private static int key(ItemStack itemStack) {
+        return TooltipCache.key(Item.getIdFromItem(itemStack.getItem()), (short) itemStack.getItemDamage());
     }
 
+    private static int key(int id, short meta) {
+        return id << 16 | meta & 0xFFFF;
+    }
+
+    /**
+     * @return the stored, unmodifiable tooltip
+     */
+    static List<String> put(ItemStack itemStack, List<String> tooltip) {
+        List<String> ret = tooltip.isEmpty() ? Collections.emptyList()
+                : Collections.unmodifiableList(new ArrayList<>(tooltip));
+        TooltipCache.cache.put(TooltipCache.key(itemStack), ret);
+        return ret;
+    }
+
+    /**
+     * @return the tooltip or null if there is none cached yet
+     */
     static List<String> getTooltip(ItemStack itemStack) {
-        Pair<Integer, Short> p = new Pair<>(Item.getIdFromItem(itemStack.getItem()), (short) itemStack.getItemDamage());
-        char[] toTest = TooltipCache.cache.get(p);
-        if (toTest == null) {
-            return new ArrayList<>();
+        return TooltipCache.cache.get(TooltipCache.key(itemStack));
+    }
+
+    static String getSharedItemStackLine(ItemStack itemStack) {
+        return TooltipCache.sharedItemStackLines.get(TooltipCache.key(itemStack));
+    }
+
+    /**
+     * Builds the shared ItemStack line of every Item id and meta in the non BW OreDict cache and drops all cached
+     * tooltips.
+     */
+    public static void setSharedItemStacks(Collection<Pair<Integer, Short>> nonBWCache) {
+        HashMap<String, String> modNames = new HashMap<>();
+        for (ModContainer modContainer : Loader.instance().getModList())
+            modNames.putIfAbsent(modContainer.getModId(), modContainer.getName());
+
+        TooltipCache.cache.clear();
+        TooltipCache.sharedItemStackLines.clear();
+        for (Pair<Integer, Short> pair : nonBWCache) {
+            Item item = Item.getItemById(pair.getKey());
+            if (item == null) continue;
+            GameRegistry.UniqueIdentifier UI = GameRegistry.findUniqueIdentifierFor(item);
+            if (UI == null) UI = GameRegistry.findUniqueIdentifierFor(Block.getBlockFromItem(item));
+            String line;
+            if (UI == null) line = "Shared ItemStack between " + ChatColorHelper.DARKGREEN
+                    + "BartWorks"
+                    + ChatColorHelper.GRAY
+                    + " and another Mod, that doesn't use the ModContainer propperly!";
+            else if (MainMod.MOD_ID.equals(UI.modId) || BartWorksCrossmod.MOD_ID.equals(UI.modId)
+                    || "BWCore".equals(UI.modId) || !modNames.containsKey(UI.modId))
+                continue;
+            else line = "Shared ItemStack between " + ChatColorHelper.DARKGREEN
+                    + "BartWorks"
+                    + ChatColorHelper.GRAY
+                    + " and "
+                    + ChatColorHelper.RED
+                    + modNames.get(UI.modId);
+            TooltipCache.sharedItemStackLines.put(TooltipCache.key(pair.getKey(), pair.getValue()), line);
         }
-        return Arrays.asList(new String(toTest).split(System.lineSeparator()));
     }
 }
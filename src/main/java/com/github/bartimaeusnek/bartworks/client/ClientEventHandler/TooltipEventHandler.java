@@ -20,26 +20,18 @@ import java.util.List;
 import net.minecraft.block.Block;
 import net.minecraft.block.material.Material;
 import net.minecraft.init.Blocks;
-import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.StatCollector;
 import net.minecraftforge.event.entity.player.ItemTooltipEvent;
 
 import com.github.bartimaeusnek.bartworks.API.BioVatLogicAdder;
-import com.github.bartimaeusnek.bartworks.MainMod;
 import com.github.bartimaeusnek.bartworks.common.blocks.BW_Blocks;
 import com.github.bartimaeusnek.bartworks.common.configs.ConfigHandler;
-import com.github.bartimaeusnek.bartworks.system.oredict.OreDictHandler;
 import com.github.bartimaeusnek.bartworks.util.BW_ColorUtil;
 import com.github.bartimaeusnek.bartworks.util.ChatColorHelper;
-import com.github.bartimaeusnek.bartworks.util.Pair;
-import com.github.bartimaeusnek.crossmod.BartWorksCrossmod;
 
-import cpw.mods.fml.common.Loader;
-import cpw.mods.fml.common.ModContainer;
 import cpw.mods.fml.common.eventhandler.EventPriority;
 import cpw.mods.fml.common.eventhandler.SubscribeEvent;
-import cpw.mods.fml.common.registry.GameRegistry;
 import cpw.mods.fml.relauncher.Side;
 import cpw.mods.fml.relauncher.SideOnly;
 import gregtech.api.enums.GT_Values;
@@ -53,48 +45,16 @@ public class TooltipEventHandler {
 
         if (event == null || event.itemStack == null || event.itemStack.getItem() == null) return;
 
-        if (TooltipCache.getTooltip(event.itemStack).isEmpty()) {
-            ItemStack tmp = event.itemStack.copy();
-            Pair<Integer, Short> abstractedStack = new Pair<>(
-                    Item.getIdFromItem(tmp.getItem()),
-                    (short) tmp.getItemDamage());
+        List<String> tooltip = TooltipCache.getTooltip(event.itemStack);
+        if (tooltip == null) {
             List<String> tooAdd = new ArrayList<>();
-            if (ConfigHandler.sharedItemStackTooltip && OreDictHandler.getNonBWCache().contains(abstractedStack)) {
-                for (Pair<Integer, Short> pair : OreDictHandler.getNonBWCache()) {
-                    if (pair.equals(abstractedStack)) {
-                        GameRegistry.UniqueIdentifier UI = GameRegistry.findUniqueIdentifierFor(tmp.getItem());
-                        if (UI == null)
-                            UI = GameRegistry.findUniqueIdentifierFor(Block.getBlockFromItem(tmp.getItem()));
-                        if (UI != null) {
-                            for (ModContainer modContainer : Loader.instance().getModList()) {
-                                if (MainMod.MOD_ID.equals(UI.modId) || BartWorksCrossmod.MOD_ID.equals(UI.modId)
-                                        || "BWCore".equals(UI.modId))
-                                    break;
-                                if (UI.modId.equals(modContainer.getModId())) {
-                                    tooAdd.add(
-                                            "Shared ItemStack between " + ChatColorHelper.DARKGREEN
-                                                    + "BartWorks"
-                                                    + ChatColorHelper.GRAY
-                                                    + " and "
-                                                    + ChatColorHelper.RED
-                                                    + modContainer.getName());
-                                }
-                            }
-                        } else tooAdd.add(
-                                "Shared ItemStack between " + ChatColorHelper.DARKGREEN
-                                        + "BartWorks"
-                                        + ChatColorHelper.GRAY
-                                        + " and another Mod, that doesn't use the ModContainer propperly!");
-                    }
-                }
+            if (ConfigHandler.sharedItemStackTooltip) {
+                String shared = TooltipCache.getSharedItemStackLine(event.itemStack);
+                if (shared != null) tooAdd.add(shared);
             }
 
             Block BLOCK = Block.getBlockFromItem(event.itemStack.getItem());
-            if (BLOCK != null && BLOCK != Blocks.air) {
-                if (BLOCK instanceof BW_Blocks) {
-                    TooltipCache.put(event.itemStack, tooAdd);
-                    return;
-                }
+            if (BLOCK != null && BLOCK != Blocks.air && !(BLOCK instanceof BW_Blocks)) {
                 BioVatLogicAdder.BlockMetaPair PAIR = new BioVatLogicAdder.BlockMetaPair(
                         BLOCK,
                         (byte) event.itemStack.getItemDamage());
@@ -115,10 +75,8 @@ public class TooltipEventHandler {
                 }
             }
 
-            TooltipCache.put(event.itemStack, tooAdd);
-            event.toolTip.addAll(tooAdd);
-        } else {
-            event.toolTip.addAll(TooltipCache.getTooltip(event.itemStack));
+            tooltip = TooltipCache.put(event.itemStack, tooAdd);
         }
+        event.toolTip.addAll(tooltip);
     }
 }
@@ -17,12 +17,20 @@ import gregtech.api.GregTech_API;
 @SideOnly(Side.CLIENT)
 public class BW_EICPistonVisualizer extends EntityFX {
 
+    // the containment blocks are still there, slide them out of the structure and back instead of filling holes
+    private final boolean pushOut;
+
     public BW_EICPistonVisualizer(World world, int x, int y, int z, int age) {
+        this(world, x, y, z, age, false);
+    }
+
+    public BW_EICPistonVisualizer(World world, int x, int y, int z, int age, boolean pushOut) {
         super(world, x, y, z);
         this.prevPosX = this.posX;
         this.prevPosY = this.posY;
         this.prevPosZ = this.posZ;
         this.particleMaxAge = age;
+        this.pushOut = pushOut;
     }
 
     @Override
@@ -54,6 +62,9 @@ public class BW_EICPistonVisualizer extends EntityFX {
         }
 
         IIcon icon = tieredBlock.getKey().getIcon(0, tieredBlock.getValue());
+        double offset = this.pushOut
+                ? 0.5d * Math.sin(Math.PI * Math.min(1f, (this.particleAge + p_70539_2_) / this.particleMaxAge))
+                : 0d;
 
         double x = this.posX + 1;
         double z = this.posZ;
@@ -61,7 +72,7 @@ public class BW_EICPistonVisualizer extends EntityFX {
         double f11 = x - interpPosX;
         double f12 = this.posY - interpPosY;
         double f13 = z - interpPosZ;
-        tessellator.setTranslation(f11 - x, f12 - this.posY, f13 - z);
+        tessellator.setTranslation(f11 - x + offset, f12 - this.posY, f13 - z);
         RenderBlocks.getInstance()
                 .renderBlockUsingTexture(tieredBlock.getKey(), (int) x, (int) this.posY, (int) z, icon);
 
@@ -70,7 +81,7 @@ public class BW_EICPistonVisualizer extends EntityFX {
 
         f11 = x - interpPosX;
         f13 = z - interpPosZ;
-        tessellator.setTranslation(f11 - x, f12 - this.posY, f13 - z);
+        tessellator.setTranslation(f11 - x - offset, f12 - this.posY, f13 - z);
         RenderBlocks.getInstance()
                 .renderBlockUsingTexture(tieredBlock.getKey(), (int) x, (int) this.posY, (int) z, icon);
 
@@ -79,7 +90,7 @@ public class BW_EICPistonVisualizer extends EntityFX {
 
         f11 = x - interpPosX;
         f13 = z - interpPosZ;
-        tessellator.setTranslation(f11 - x, f12 - this.posY, f13 - z);
+        tessellator.setTranslation(f11 - x, f12 - this.posY, f13 - z + offset);
         RenderBlocks.getInstance()
                 .renderBlockUsingTexture(tieredBlock.getKey(), (int) x, (int) this.posY, (int) z, icon);
 
@@ -88,7 +99,7 @@ public class BW_EICPistonVisualizer extends EntityFX {
 
         f11 = x - interpPosX;
         f13 = z - interpPosZ;
-        tessellator.setTranslation(f11 - x, f12 - this.posY, f13 - z);
+        tessellator.setTranslation(f11 - x, f12 - this.posY, f13 - z - offset);
         RenderBlocks.getInstance()
                 .renderBlockUsingTexture(tieredBlock.getKey(), (int) x, (int) this.posY, (int) z, icon);
 
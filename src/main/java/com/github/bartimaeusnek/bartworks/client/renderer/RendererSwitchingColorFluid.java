@@ -27,7 +27,6 @@ import net.minecraftforge.fluids.IFluidBlock;
 import com.github.bartimaeusnek.bartworks.common.blocks.BioFluidBlock;
 import com.github.bartimaeusnek.bartworks.common.loaders.FluidLoader;
 import com.github.bartimaeusnek.bartworks.common.tileentities.multis.GT_TileEntity_BioVat;
-import com.github.bartimaeusnek.bartworks.util.Coords;
 
 import cpw.mods.fml.client.registry.ISimpleBlockRenderingHandler;
 import cpw.mods.fml.relauncher.Side;
@@ -88,20 +87,10 @@ public class RendererSwitchingColorFluid implements ISimpleBlockRenderingHandler
             RenderBlocks renderer) {
         if (!(block instanceof BioFluidBlock)) return false;
         Tessellator tessellator = Tessellator.instance;
-        Coords blockat = new Coords(x, y, z, iBlockAccess.getTileEntity(x, y, z).getWorldObj().provider.dimensionId);
-        Integer rgb = GT_TileEntity_BioVat.staticColorMap.get(blockat);
-
-        int r, g, b;
-
-        if (rgb != null) {
-            r = rgb >> 16 & 0xFF;
-            g = rgb >> 8 & 0xFF;
-            b = rgb & 0xFF;
-        } else {
-            r = 0;
-            g = 0;
-            b = 255;
-        }
+        // chunks are only ever rendered for the world the player is in
+        int rgb = GT_TileEntity_BioVat
+                .getFluidColor(Minecraft.getMinecraft().theWorld.provider.dimensionId, x, y, z, 0x0000FF);
+        int r = rgb >> 16 & 0xFF, g = rgb >> 8 & 0xFF, b = rgb & 0xFF;
         float red = r / 255f, green = g / 255f, blue = b / 255f;
 
         BlockFluidBase blockFluidBase = (BlockFluidBase) block;
@@ -0,0 +1,29 @@
+package com.github.bartimaeusnek.bartworks.common.blocks;
+
+import net.minecraft.block.Block;
+import net.minecraft.creativetab.CreativeTabs;
+import net.minecraft.world.World;
+
+import com.github.bartimaeusnek.bartworks.common.tileentities.multis.GT_TileEntity_LESU;
+
+/**
+ * LESU cell casing, tells loaded LESUs about placed and broken cells so they don't have to rescan their structure.
+ */
+public class BW_LESUCellBlock extends BW_Blocks {
+
+    public BW_LESUCellBlock(String name, String[] texture, CreativeTabs tabs) {
+        super(name, texture, tabs);
+    }
+
+    @Override
+    public void onBlockAdded(World aWorld, int aX, int aY, int aZ) {
+        super.onBlockAdded(aWorld, aX, aY, aZ);
+        if (!aWorld.isRemote) GT_TileEntity_LESU.onCellChanged(aWorld, aX, aY, aZ, true);
+    }
+
+    @Override
+    public void breakBlock(World aWorld, int aX, int aY, int aZ, Block aBlock, int aMetaData) {
+        super.breakBlock(aWorld, aX, aY, aZ, aBlock, aMetaData);
+        if (!aWorld.isRemote) GT_TileEntity_LESU.onCellChanged(aWorld, aX, aY, aZ, false);
+    }
+}
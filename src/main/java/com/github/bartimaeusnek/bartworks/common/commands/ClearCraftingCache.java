@@ -34,6 +34,11 @@ public class ClearCraftingCache extends CommandBase {
     @Override
     public void processCommand(ICommandSender sender, String[] args) {
         BWCoreStaticReplacementMethodes.clearRecentlyUsedRecipes();
-        sender.addChatMessage(new ChatComponentText("Recipe Cache cleared "));
+        sender.addChatMessage(
+                new ChatComponentText(
+                        "Recipe Cache cleared (" + BWCoreStaticReplacementMethodes.getCacheHits()
+                                + " hits, "
+                                + BWCoreStaticReplacementMethodes.getCacheMisses()
+                                + " misses so far)"));
     }
 }
@@ -70,6 +70,13 @@ public class ConfigHandler {
     public static Set<String> voidMinerBlacklist = Collections.unmodifiableSet(new HashSet<>());
 
     public static boolean disablePistonInEIC = false;
+    public static boolean clientSidePistonInEIC = false;
+
+    public static int craftingCacheSize = 1024;
+
+    public static boolean tileEntityFreeOres = false;
+
+    public static int floodGateBlocksPerTick = 8;
 
     private static final int[][] METAFORTIERS_ENERGY = { { 100, 101, 102, 105 }, { 1110, 1115, 1120, 1127 },
             { 1111, 12726, 1116, 1121, 1128 }, { 1112, 12727, 1117, 1122, 1129 }, { 12728, 1190, 1130, 12685 },
@@ -166,6 +173,13 @@ public class ConfigHandler {
 
         ConfigHandler.mbWaterperSec = ConfigHandler.c.get("Singleblocks", "mL Water per Sec for the StirlingPump", 150)
                 .getInt(150);
+        ConfigHandler.floodGateBlocksPerTick = ConfigHandler.c.get(
+                "Singleblocks",
+                "Experimental Flood Gate Blocks per Tick",
+                8,
+                "How many fluid blocks the Experimental Flood Gate may place per tick",
+                1,
+                4096).getInt(8);
 
         ConfigHandler.energyPerCell = ConfigHandler.c.get(
                 "Multiblocks",
@@ -208,6 +222,12 @@ public class ConfigHandler {
                         false,
                         "This switch completely disables piston animation in Electric Implosion Compressor multiblock")
                 .getBoolean(false);
+        ConfigHandler.clientSidePistonInEIC = ConfigHandler.c.get(
+                "Multiblocks",
+                "Client side Electric Implosion Compressor piston",
+                false,
+                "If enabled the Electric Implosion Compressor keeps its containment blocks in place and only tells the clients to animate the piston, instead of removing and placing the blocks")
+                .getBoolean(false);
 
         ConfigHandler.pollutionHeatedWaterPumpSecond = ConfigHandler.c
                 .get(
@@ -234,6 +254,19 @@ public class ConfigHandler {
                     .set(12600);
         }
 
+        ConfigHandler.craftingCacheSize = ConfigHandler.c.get(
+                "System",
+                "Crafting Recipe Cache Size",
+                1024,
+                "How many crafting grids and recently used recipes each thread remembers, if the crafting table patch is enabled",
+                1,
+                Integer.MAX_VALUE).getInt(1024);
+        ConfigHandler.tileEntityFreeOres = ConfigHandler.c.get(
+                "System",
+                "TileEntity free BartWorks ores",
+                false,
+                "If enabled BartWorks ores and small ores keep their material in a palette saved with the chunk instead of one TileEntity each, existing ores are converted when their chunk loads and converted back if this is disabled again")
+                .getBoolean(false);
         ConfigHandler.GTppLogDisabler = ConfigHandler.c
                 .get("System", "Disable GT++ Logging", false, "Enables or Disables GT++ Logging.").getBoolean(false);
         API_ConfigValues.debugLog = ConfigHandler.c
@@ -29,6 +29,7 @@ import com.github.bartimaeusnek.bartworks.MainMod;
 import com.github.bartimaeusnek.bartworks.common.blocks.BW_Blocks;
 import com.github.bartimaeusnek.bartworks.common.blocks.BW_GlasBlocks;
 import com.github.bartimaeusnek.bartworks.common.blocks.BW_GlasBlocks2;
+import com.github.bartimaeusnek.bartworks.common.blocks.BW_LESUCellBlock;
 import com.github.bartimaeusnek.bartworks.common.blocks.BW_TileEntityContainer;
 import com.github.bartimaeusnek.bartworks.common.blocks.BW_TileEntityContainer_MachineBlock;
 import com.github.bartimaeusnek.bartworks.common.configs.ConfigHandler;
@@ -212,7 +213,7 @@ public class ItemRegistry {
                     "BW_ItemBlocks",
                     new String[] { MainMod.MOD_ID + ":EtchedLapisCell", MainMod.MOD_ID + ":PlatedLapisCell", },
                     GT2),
-            new BW_Blocks("GT_LESU_CASING", new String[] { MainMod.MOD_ID + ":LESU_CELL", }, GT2),
+            new BW_LESUCellBlock("GT_LESU_CASING", new String[] { MainMod.MOD_ID + ":LESU_CELL", }, GT2),
             new BW_Blocks(
                     "BW_Machinery_Casings",
                     new String[] { MainMod.MOD_ID + ":NickelFerriteBlocks", MainMod.MOD_ID + ":TransformerCoil",
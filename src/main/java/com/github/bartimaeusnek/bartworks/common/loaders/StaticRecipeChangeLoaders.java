@@ -26,7 +26,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -43,8 +42,10 @@ import org.apache.commons.lang3.StringUtils;
 
 import com.github.bartimaeusnek.bartworks.MainMod;
 import com.github.bartimaeusnek.bartworks.system.material.Werkstoff;
+import com.github.bartimaeusnek.bartworks.system.material.WerkstoffItemStackTable;
 import com.github.bartimaeusnek.bartworks.util.BWRecipes;
 import com.github.bartimaeusnek.bartworks.util.BW_Util;
+import com.github.bartimaeusnek.bartworks.util.RecipeOccurrenceIndex;
 import com.github.bartimaeusnek.bartworks.util.StreamUtils;
 import com.github.bartimaeusnek.bartworks.util.log.DebugLog;
 import com.github.bartimaeusnek.crossmod.BartWorksCrossmod;
@@ -117,25 +118,19 @@ public class StaticRecipeChangeLoaders {
                 }));
     }
 
-    private static void replaceWrongFluidOutput(Werkstoff werkstoff, GT_Recipe recipe, FluidStack wrongNamedFluid) {
-        for (int i = 0; i < recipe.mFluidOutputs.length; i++) {
-            if (GT_Utility.areFluidsEqual(recipe.mFluidOutputs[i], wrongNamedFluid)) {
-                recipe.mFluidOutputs[i] = werkstoff.getFluidOrGas(recipe.mFluidOutputs[i].amount);
-            }
-        }
+    private static void replaceWrongFluidOutput(Werkstoff werkstoff, RecipeOccurrenceIndex index,
+            RecipeOccurrenceIndex.Occurrence occurrence) {
+        index.setFluid(occurrence, werkstoff.getFluidOrGas(occurrence.getFluid().amount));
     }
 
-    private static void replaceWrongFluidInput(Werkstoff werkstoff, GT_Recipe.GT_Recipe_Map map, GT_Recipe recipe,
-            FluidStack wrongNamedFluid) {
-        for (int i = 0; i < recipe.mFluidInputs.length; i++) {
-            if (GT_Utility.areFluidsEqual(recipe.mFluidInputs[i], wrongNamedFluid)) {
-                Collection<GT_Recipe> col = map.mRecipeFluidMap.get(wrongNamedFluid.getFluid().getName());
-                map.mRecipeFluidMap.remove(wrongNamedFluid.getFluid().getName());
-                map.mRecipeFluidMap.put(werkstoff.getFluidOrGas(1).getFluid().getName(), col);
-                recipe.mFluidInputs[i] = werkstoff.getFluidOrGas(recipe.mFluidInputs[i].amount);
-                map.mRecipeFluidNameMap.add(werkstoff.getFluidOrGas(1).getFluid().getName());
-            }
-        }
+    private static void replaceWrongFluidInput(Werkstoff werkstoff, RecipeOccurrenceIndex index,
+            RecipeOccurrenceIndex.Occurrence occurrence, FluidStack wrongNamedFluid) {
+        GT_Recipe.GT_Recipe_Map map = occurrence.map;
+        Collection<GT_Recipe> col = map.mRecipeFluidMap.get(wrongNamedFluid.getFluid().getName());
+        map.mRecipeFluidMap.remove(wrongNamedFluid.getFluid().getName());
+        map.mRecipeFluidMap.put(werkstoff.getFluidOrGas(1).getFluid().getName(), col);
+        index.setFluid(occurrence, werkstoff.getFluidOrGas(occurrence.getFluid().amount));
+        map.mRecipeFluidNameMap.add(werkstoff.getFluidOrGas(1).getFluid().getName());
     }
 
     private static void addConversionRecipe(Werkstoff werkstoff, FluidStack wrongNamedFluid) {
@@ -159,27 +154,29 @@ public class StaticRecipeChangeLoaders {
         return FluidRegistry.getFluidStack(wrongname, 1);
     }
 
-    private static void enforceNobleGas(Werkstoff werkstoff) {
+    private static void enforceNobleGas(Werkstoff werkstoff, RecipeOccurrenceIndex index) {
         FluidStack wrongNamedFluid = getWrongNameFluid(werkstoff);
         if (wrongNamedFluid != null) {
-            GT_Recipe.GT_Recipe_Map.sMappings.forEach(map -> map.mRecipeList.forEach(recipe -> {
-                replaceWrongFluidInput(werkstoff, map, recipe, wrongNamedFluid);
-                replaceWrongFluidOutput(werkstoff, recipe, wrongNamedFluid);
-            }));
+            for (RecipeOccurrenceIndex.Occurrence occurrence : index.find(wrongNamedFluid)) {
+                if (occurrence.kind == RecipeOccurrenceIndex.FLUID_INPUT)
+                    replaceWrongFluidInput(werkstoff, index, occurrence, wrongNamedFluid);
+                else replaceWrongFluidOutput(werkstoff, index, occurrence);
+            }
             addConversionRecipe(werkstoff, wrongNamedFluid);
         }
     }
 
     public static void unificationRecipeEnforcer() {
+        RecipeOccurrenceIndex index = RecipeOccurrenceIndex.get();
         for (Werkstoff werkstoff : Werkstoff.werkstoffHashSet) {
             StaticRecipeChangeLoaders.runMaterialLinker(werkstoff);
             if (werkstoff.getGenerationFeatures().enforceUnification) {
 
-                if (werkstoff.contains(NOBLE_GAS)) enforceNobleGas(werkstoff);
+                if (werkstoff.contains(NOBLE_GAS)) enforceNobleGas(werkstoff, index);
 
                 HashSet<String> oreDictNames = new HashSet<>(werkstoff.getADDITIONAL_OREDICT());
                 oreDictNames.add(werkstoff.getVarName());
-                StaticRecipeChangeLoaders.runMoltenUnificationEnfocement(werkstoff);
+                StaticRecipeChangeLoaders.runMoltenUnificationEnfocement(werkstoff, index);
                 StaticRecipeChangeLoaders.runUnficationDeleter(werkstoff);
                 for (String s : oreDictNames) for (OrePrefixes prefixes : OrePrefixes.values()) {
                     if (!werkstoff.hasItemType(prefixes)) continue;
@@ -193,47 +190,25 @@ public class StaticRecipeChangeLoaders {
                                 || replacement == null
                                 || replacement.getItem() == null)
                             continue;
-                        for (GT_Recipe.GT_Recipe_Map map : GT_Recipe.GT_Recipe_Map.sMappings) {
-                            nextRecipe: for (Iterator<GT_Recipe> iterator = map.mRecipeList.iterator(); iterator
-                                    .hasNext();) {
-                                GT_Recipe recipe = iterator.next();
-                                boolean removal = map.equals(GT_Recipe_Map.sFluidExtractionRecipes)
-                                        || map.equals(GT_Recipe_Map.sFluidSolidficationRecipes);
-                                for (int i = 0; i < recipe.mInputs.length; i++) {
-                                    if (!GT_Utility.areStacksEqual(recipe.mInputs[i], toReplace)) continue;
-                                    if (removal) {
-                                        iterator.remove();
-                                        continue nextRecipe;
-                                    }
-                                    recipe.mInputs[i] = GT_Utility.copyAmount(recipe.mInputs[i].stackSize, replacement);
-                                }
-                                for (int i = 0; i < recipe.mOutputs.length; i++) {
-                                    if (!GT_Utility.areStacksEqual(recipe.mOutputs[i], toReplace)) continue;
-                                    if (removal) {
-                                        iterator.remove();
-                                        continue nextRecipe;
-                                    }
-                                    recipe.mOutputs[i] = GT_Utility
-                                            .copyAmount(recipe.mOutputs[i].stackSize, replacement);
-                                }
-                                if (recipe.mSpecialItems instanceof ItemStack specialItemStack) {
-                                    if (!GT_Utility.areStacksEqual(specialItemStack, toReplace)) continue;
-                                    if (removal) {
-                                        iterator.remove();
-                                        continue nextRecipe;
-                                    }
-                                    recipe.mSpecialItems = GT_Utility
-                                            .copyAmount(specialItemStack.stackSize, replacement);
-                                }
+                        List<RecipeOccurrenceIndex.Occurrence> toRemove = new ArrayList<>();
+                        for (RecipeOccurrenceIndex.Occurrence occurrence : index.find(toReplace)) {
+                            if (occurrence.map.equals(GT_Recipe_Map.sFluidExtractionRecipes)
+                                    || occurrence.map.equals(GT_Recipe_Map.sFluidSolidficationRecipes)) {
+                                toRemove.add(occurrence);
+                                continue;
                             }
+                            index.setItem(
+                                    occurrence,
+                                    GT_Utility.copyAmount(occurrence.getItem().stackSize, replacement));
                         }
+                        index.removeRecipesOf(toRemove);
                     }
                 }
             }
         }
     }
 
-    private static void runMoltenUnificationEnfocement(Werkstoff werkstoff) {
+    private static void runMoltenUnificationEnfocement(Werkstoff werkstoff, RecipeOccurrenceIndex index) {
         if (werkstoff.getGenerationFeatures().enforceUnification && werkstoff.hasItemType(OrePrefixes.cellMolten)) {
             try {
                 FluidContainerRegistry.FluidContainerData data = new FluidContainerRegistry.FluidContainerData(
@@ -258,38 +233,8 @@ public class StaticRecipeChangeLoaders {
                     }
                 }
                 sFilledContainerToData.entrySet().removeAll(toremFilledContainerToData);
-                Set<GT_Recipe> toremRecipeList = new HashSet<>();
-                if (toReplace != null) {
-                    for (GT_Recipe.GT_Recipe_Map map : GT_Recipe.GT_Recipe_Map.sMappings) {
-                        toremRecipeList.clear();
-                        for (GT_Recipe recipe : map.mRecipeList) {
-                            for (ItemStack mInput : recipe.mInputs) {
-                                if (GT_Utility.areStacksEqual(mInput, toReplace)) {
-                                    toremRecipeList.add(recipe);
-                                    // recipe.mInputs[i] = data.filledContainer;
-                                }
-                            }
-                            for (ItemStack mOutput : recipe.mOutputs) {
-                                if (GT_Utility.areStacksEqual(mOutput, toReplace)) {
-                                    toremRecipeList.add(recipe);
-                                    // recipe.mOutputs[i] = data.filledContainer;
-                                    if (map == GT_Recipe.GT_Recipe_Map.sFluidCannerRecipes
-                                            && GT_Utility.areStacksEqual(mOutput, data.filledContainer)
-                                            && !recipe.mFluidInputs[0].equals(data.fluid)) {
-                                        toremRecipeList.add(recipe);
-                                        // recipe.mOutputs[i] = data.filledContainer;
-                                    }
-                                }
-                            }
-                            if (recipe.mSpecialItems instanceof ItemStack
-                                    && GT_Utility.areStacksEqual((ItemStack) recipe.mSpecialItems, toReplace)) {
-                                toremRecipeList.add(recipe);
-                                // recipe.mSpecialItems = data.filledContainer;
-                            }
-                        }
-                        map.mRecipeList.removeAll(toremRecipeList);
-                    }
-                }
+                // the recipes using the foreign container are dropped, the fluid canner ones included
+                if (toReplace != null) index.removeRecipesOf(index.find(toReplace));
                 GT_Utility.addFluidContainerData(data);
             } catch (NoSuchFieldException | IllegalAccessException | ClassCastException e) {
                 e.printStackTrace();
@@ -312,6 +257,7 @@ public class StaticRecipeChangeLoaders {
                 GT_OreDictUnificator.getAssociation(stack).mUnificationTarget = werkstoff.get(prefixes);
             }
         }
+        WerkstoffItemStackTable.invalidate();
     }
 
     private static void runMaterialLinker(Werkstoff werkstoff) {
@@ -329,6 +275,7 @@ public class StaticRecipeChangeLoaders {
                     GT_OreDictUnificator.addAssociation(prefixes, werkstoff.getBridgeMaterial(), stack, false);
                 }
             }
+        WerkstoffItemStackTable.invalidate();
     }
 
     /**
@@ -55,7 +55,8 @@ public class BW_Network extends MessageToMessageCodec<FMLProxyPacket, GT_Packet_
     public BW_Network() {
         this.mChannel = NetworkRegistry.INSTANCE.newChannel("BartWorks", this, new BW_Network.HandlerShared());
         this.mSubChannels = new GT_Packet_New[] { new RendererPacket(), new CircuitProgrammerPacket(),
-                new MetaBlockPacket(), new OreDictCachePacket(), new ServerJoinedPackage(), new EICPacket() };
+                new MetaBlockPacket(), new OreDictCachePacket(), new ServerJoinedPackage(), new EICPacket(),
+                new BioVatRendererPacket(), new MetaBlockChunkPacket() };
     }
 
     @Override
@@ -0,0 +1,102 @@
+package com.github.bartimaeusnek.bartworks.common.net;
+
+import net.minecraft.world.IBlockAccess;
+import net.minecraft.world.World;
+
+import com.github.bartimaeusnek.bartworks.API.SideReference;
+import com.github.bartimaeusnek.bartworks.MainMod;
+import com.github.bartimaeusnek.bartworks.common.tileentities.multis.GT_TileEntity_BioVat;
+import com.github.bartimaeusnek.bartworks.util.Coords;
+import com.google.common.io.ByteArrayDataInput;
+
+import gregtech.api.net.GT_Packet_New;
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Sets or clears the fluid colour of a whole box of blocks at once, replaces one {@link RendererPacket} per block.
+ */
+public class BioVatRendererPacket extends GT_Packet_New {
+
+    private Coords origin;
+    private byte sizeX, sizeY, sizeZ;
+    private int color;
+    private byte removal;
+
+    public BioVatRendererPacket() {
+        super(true);
+    }
+
+    /**
+     * @param origin the lowest corner of the box, including the dimension
+     */
+    public BioVatRendererPacket(Coords origin, int sizeX, int sizeY, int sizeZ, int color, boolean removal) {
+        super(false);
+        this.origin = origin;
+        this.sizeX = (byte) sizeX;
+        this.sizeY = (byte) sizeY;
+        this.sizeZ = (byte) sizeZ;
+        this.color = color;
+        this.removal = (byte) (removal ? 1 : 0);
+    }
+
+    @Override
+    public byte getPacketID() {
+        return 6;
+    }
+
+    private byte checksum() {
+        return (byte) (this.origin.x % 25 + this.origin.y % 25
+                + this.origin.z % 25
+                + this.origin.wID % 25
+                + this.sizeX
+                + this.sizeY
+                + this.sizeZ
+                + this.color % 25
+                + this.removal);
+    }
+
+    @Override
+    public void encode(ByteBuf aOut) {
+        aOut.writeInt(this.origin.x).writeShort(this.origin.y).writeInt(this.origin.z).writeInt(this.origin.wID)
+                .writeByte(this.sizeX).writeByte(this.sizeY).writeByte(this.sizeZ).writeInt(this.color)
+                .writeByte(this.removal).writeByte(this.checksum());
+    }
+
+    @Override
+    public GT_Packet_New decode(ByteArrayDataInput dataInput) {
+        BioVatRendererPacket ret = new BioVatRendererPacket(
+                new Coords(dataInput.readInt(), dataInput.readShort(), dataInput.readInt(), dataInput.readInt()),
+                dataInput.readByte(),
+                dataInput.readByte(),
+                dataInput.readByte(),
+                dataInput.readInt(),
+                dataInput.readByte() == 1);
+
+        if (ret.checksum() != dataInput.readByte()) {
+            MainMod.LOGGER.error("BW Packet was corrupted or modified!");
+            return null;
+        }
+
+        return ret;
+    }
+
+    @Override
+    public void process(IBlockAccess iBlockAccess) {
+        if (SideReference.Side.Client) {
+            GT_TileEntity_BioVat.setRendererColor(
+                    this.origin,
+                    this.sizeX,
+                    this.sizeY,
+                    this.sizeZ,
+                    this.removal == 0 ? this.color : null);
+            if (iBlockAccess instanceof World world && world.provider.dimensionId == this.origin.wID)
+                world.markBlockRangeForRenderUpdate(
+                        this.origin.x,
+                        this.origin.y,
+                        this.origin.z,
+                        this.origin.x + this.sizeX - 1,
+                        this.origin.y + this.sizeY - 1,
+                        this.origin.z + this.sizeZ - 1);
+        }
+    }
+}
@@ -15,17 +15,34 @@ import io.netty.buffer.ByteBuf;
 
 public class EICPacket extends GT_Packet_New {
 
+    public static final byte MUFFLER = 0;
+    public static final byte CYCLE_STARTED = 1;
+    public static final byte CYCLE_STOPPED = 2;
+
     private Coords coords;
     private boolean bool;
+    private byte event;
 
     public EICPacket() {
         super(true);
     }
 
     public EICPacket(Coords coords, boolean bool) {
+        this(coords, bool, MUFFLER);
+    }
+
+    /**
+     * @param event one of {@link #MUFFLER}, {@link #CYCLE_STARTED} or {@link #CYCLE_STOPPED}
+     */
+    public EICPacket(Coords coords, byte event) {
+        this(coords, false, event);
+    }
+
+    private EICPacket(Coords coords, boolean bool, byte event) {
         super(false);
         this.coords = coords;
         this.bool = bool;
+        this.event = event;
     }
 
     @Override
@@ -39,11 +56,15 @@ public class EICPacket extends GT_Packet_New {
         aOut.writeInt(this.coords.y);
         aOut.writeInt(this.coords.z);
         aOut.writeBoolean(this.bool);
+        aOut.writeByte(this.event);
     }
 
     @Override
     public GT_Packet_New decode(ByteArrayDataInput aData) {
-        return new EICPacket(new Coords(aData.readInt(), aData.readInt(), aData.readInt()), aData.readBoolean());
+        return new EICPacket(
+                new Coords(aData.readInt(), aData.readInt(), aData.readInt()),
+                aData.readBoolean(),
+                aData.readByte());
     }
 
     @Override
@@ -53,6 +74,10 @@ public class EICPacket extends GT_Packet_New {
             if (!(te instanceof IGregTechTileEntity)) return;
             IMetaTileEntity mte = ((IGregTechTileEntity) te).getMetaTileEntity();
             if (!(mte instanceof GT_TileEntity_ElectricImplosionCompressor)) return;
+            if (this.event != MUFFLER) {
+                ((GT_TileEntity_ElectricImplosionCompressor) mte).setClientPistonCycle(this.event == CYCLE_STARTED);
+                return;
+            }
             if (this.bool && !((IGregTechTileEntity) te).hasMufflerUpgrade())
                 ((IGregTechTileEntity) te).addMufflerUpgrade();
         }
@@ -0,0 +1,138 @@
+package com.github.bartimaeusnek.bartworks.common.net;
+
+import java.io.ByteArrayOutputStream;
+
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.world.IBlockAccess;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+
+import com.github.bartimaeusnek.bartworks.MainMod;
+import com.github.bartimaeusnek.bartworks.system.material.BW_MetaGeneratedBlockSync;
+import com.github.bartimaeusnek.bartworks.system.material.BW_MetaGeneratedOreStorage;
+import com.github.bartimaeusnek.bartworks.system.material.BW_MetaGenerated_Block_TE;
+import com.github.bartimaeusnek.bartworks.system.material.BW_MetaGenerated_Blocks;
+import com.github.bartimaeusnek.bartworks.util.MurmurHash3;
+import com.google.common.io.ByteArrayDataInput;
+
+import gregtech.api.net.GT_Packet_New;
+import io.netty.buffer.ByteBuf;
+
+/**
+ * The metas of all {@link BW_MetaGenerated_Block_TE}s and {@link BW_MetaGeneratedOreStorage} entries of a chunk,
+ * replaces one {@link MetaBlockPacket} per TileEntity. Every entry is the position inside the chunk as y << 8 | x << 4
+ * | z and the meta as unsigned varint.
+ */
+public class MetaBlockChunkPacket extends GT_Packet_New {
+
+    private int chunkX, chunkZ;
+    private byte[] entries;
+
+    public MetaBlockChunkPacket() {
+        super(true);
+    }
+
+    private MetaBlockChunkPacket(int chunkX, int chunkZ, byte[] entries) {
+        super(false);
+        this.chunkX = chunkX;
+        this.chunkZ = chunkZ;
+        this.entries = entries;
+    }
+
+    /**
+     * @return the packet or null if there is no meta TileEntity in the chunk
+     */
+    public static MetaBlockChunkPacket of(Chunk chunk) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (Object o : chunk.chunkTileEntityMap.values()) {
+            if (!(o instanceof BW_MetaGenerated_Block_TE te) || te.isInvalid()) continue;
+            writeEntry(out, te.xCoord & 15, te.yCoord, te.zCoord & 15, te.mMetaData);
+        }
+        BW_MetaGeneratedOreStorage.INSTANCE.forEach(chunk, (x, y, z, meta) -> writeEntry(out, x, y, z, meta));
+        return out.size() == 0 ? null : new MetaBlockChunkPacket(chunk.xPosition, chunk.zPosition, out.toByteArray());
+    }
+
+    private static void writeEntry(ByteArrayOutputStream out, int x, int y, int z, short meta) {
+        out.write(y);
+        out.write(x << 4 | z);
+        for (int value = meta & 0xFFFF; true; value >>>= 7) {
+            if (value < 0x80) {
+                out.write(value);
+                break;
+            }
+            out.write(value & 0x7F | 0x80);
+        }
+    }
+
+    @Override
+    public byte getPacketID() {
+        return 7;
+    }
+
+    private int hash() {
+        return MurmurHash3.murmurhash3_x86_32(this.entries, 0, this.entries.length, this.chunkX * 31 + this.chunkZ);
+    }
+
+    @Override
+    public void encode(ByteBuf aOut) {
+        aOut.writeInt(this.chunkX).writeInt(this.chunkZ).writeInt(this.entries.length).writeBytes(this.entries)
+                .writeInt(this.hash());
+    }
+
+    @Override
+    public GT_Packet_New decode(ByteArrayDataInput byteArrayDataInput) {
+        int chunkX = byteArrayDataInput.readInt();
+        int chunkZ = byteArrayDataInput.readInt();
+        byte[] entries = new byte[byteArrayDataInput.readInt()];
+        byteArrayDataInput.readFully(entries);
+        MetaBlockChunkPacket ret = new MetaBlockChunkPacket(chunkX, chunkZ, entries);
+        if (byteArrayDataInput.readInt() != ret.hash()) {
+            MainMod.LOGGER.error("PACKET HASH DOES NOT MATCH!");
+            return null;
+        }
+        return ret;
+    }
+
+    /**
+     * Runs on the netty thread, the entries are applied with the next client tick, see
+     * {@link BW_MetaGeneratedBlockSync#onClientTick}.
+     */
+    @Override
+    public void process(IBlockAccess iBlockAccess) {
+        if (!(iBlockAccess instanceof World world) || !world.isRemote) return;
+        BW_MetaGeneratedBlockSync.INSTANCE.queue(world, this);
+    }
+
+    /**
+     * Writes the metas into the client world, only call this on the client thread.
+     */
+    public void apply(World world) {
+        int minY = 255, maxY = 0;
+        for (int i = 0; i < this.entries.length;) {
+            int y = this.entries[i++] & 0xFF;
+            int xz = this.entries[i++] & 0xFF;
+            int meta = 0;
+            for (int shift = 0; i < this.entries.length; shift += 7) {
+                byte b = this.entries[i++];
+                meta |= (b & 0x7F) << shift;
+                if (b >= 0) break;
+            }
+            int x = this.chunkX << 4 | xz >> 4, z = this.chunkZ << 4 | xz & 15;
+            TileEntity te = world.getTileEntity(x, y, z);
+            if (te instanceof BW_MetaGenerated_Block_TE metaTE) {
+                metaTE.mMetaData = (short) meta;
+            } else if (world.getBlock(x, y, z) instanceof BW_MetaGenerated_Blocks block) {
+                block.setMetaData(world, x, y, z, (short) meta);
+            } else continue;
+            minY = Math.min(minY, y);
+            maxY = Math.max(maxY, y);
+        }
+        if (minY <= maxY) world.markBlockRangeForRenderUpdate(
+                this.chunkX << 4,
+                minY,
+                this.chunkZ << 4,
+                (this.chunkX << 4) + 15,
+                maxY,
+                (this.chunkZ << 4) + 15);
+    }
+}
@@ -17,6 +17,8 @@ import java.util.HashSet;
 
 import net.minecraft.world.IBlockAccess;
 
+import com.github.bartimaeusnek.bartworks.API.SideReference;
+import com.github.bartimaeusnek.bartworks.client.ClientEventHandler.TooltipCache;
 import com.github.bartimaeusnek.bartworks.system.oredict.OreDictHandler;
 import com.github.bartimaeusnek.bartworks.util.Pair;
 import com.google.common.io.ByteArrayDataInput;
@@ -64,5 +66,6 @@ public class OreDictCachePacket extends GT_Packet_New {
     public void process(IBlockAccess iBlockAccess) {
         OreDictHandler.getNonBWCache().clear();
         OreDictHandler.getNonBWCache().addAll(this.hashSet);
+        if (SideReference.Side.Client) TooltipCache.setSharedItemStacks(this.hashSet);
     }
 }
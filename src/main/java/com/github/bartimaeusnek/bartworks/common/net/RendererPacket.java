@@ -85,8 +85,7 @@ public class RendererPacket extends GT_Packet_New {
     @Override
     public void process(IBlockAccess iBlockAccess) {
         if (SideReference.Side.Client) {
-            if (this.removal == 0) GT_TileEntity_BioVat.staticColorMap.put(this.coords, this.integer);
-            else GT_TileEntity_BioVat.staticColorMap.remove(this.coords);
+            GT_TileEntity_BioVat.setRendererColor(this.coords, 1, 1, 1, this.removal == 0 ? this.integer : null);
         }
     }
 }
@@ -19,8 +19,7 @@ import static net.minecraftforge.common.util.ForgeDirection.NORTH;
 import static net.minecraftforge.common.util.ForgeDirection.SOUTH;
 import static net.minecraftforge.common.util.ForgeDirection.WEST;
 
-import java.util.Comparator;
-import java.util.PriorityQueue;
+import java.util.Arrays;
 
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraftforge.common.util.ForgeDirection;
@@ -29,12 +28,27 @@ import net.minecraftforge.fluids.FluidStack;
 import net.minecraftforge.fluids.TileFluidHandler;
 
 import com.github.bartimaeusnek.bartworks.API.ITileAddsInformation;
+import com.github.bartimaeusnek.bartworks.common.configs.ConfigHandler;
+import com.github.bartimaeusnek.bartworks.util.BlockBitmap;
 import com.github.bartimaeusnek.bartworks.util.Coords;
+import com.github.bartimaeusnek.bartworks.util.LongOpenHashSet;
 
 public class BW_TileEntity_ExperimentalFloodGate extends TileFluidHandler implements ITileAddsInformation {
 
     private static final ForgeDirection[] allowed_directions = { DOWN, WEST, EAST, SOUTH, NORTH };
-    private PriorityQueue<Coords> breadthFirstQueue = new PriorityQueue<>(Comparator.comparingInt(x -> x.y));
+    private static final int WORLD_HEIGHT = 256;
+    private static final int RETRY_DEFERRED_TICKS = 100;
+    // how many already filled positions may be skipped per placed block before the tick ends
+    private static final int LOOKUPS_PER_BLOCK = 64;
+
+    // frontier of packed positions, one stack per height, the lowest one is filled first
+    private final long[][] layers = new long[WORLD_HEIGHT][];
+    private final int[] layerSizes = new int[WORLD_HEIGHT];
+    private int lowestLayer = WORLD_HEIGHT;
+    // everything that ever entered the frontier, so no position is queued twice
+    private final BlockBitmap queued = new BlockBitmap();
+    // queued positions whose chunk was not loaded, they get another try every few seconds
+    private final LongOpenHashSet deferred = new LongOpenHashSet();
     private boolean wasInited = false;
 
     public BW_TileEntity_ExperimentalFloodGate() {
@@ -48,18 +62,47 @@ public class BW_TileEntity_ExperimentalFloodGate extends TileFluidHandler implem
 
     public void initEntity() {
         if (this.wasInited) return;
-        this.breadthFirstQueue.add(new Coords(this.xCoord, this.yCoord, this.zCoord));
+        this.queued.add(this.xCoord, this.yCoord, this.zCoord);
+        this.push(Coords.pack(this.xCoord, this.yCoord, this.zCoord));
         this.wasInited = true;
     }
 
     @Override
     public void updateEntity() {
+        if (this.worldObj.isRemote) return;
         this.initEntity();
-        Coords current = this.breadthFirstQueue.poll();
-        if (current == null) return;
-        this.setFluidBlock(current);
-        for (ForgeDirection allowed_direction : allowed_directions) {
-            this.addBlockToQueue(current, allowed_direction);
+        if (!this.deferred.isEmpty() && this.worldObj.getTotalWorldTime() % RETRY_DEFERRED_TICKS == 0)
+            this.retryDeferred();
+
+        int budget = ConfigHandler.floodGateBlocksPerTick;
+        int placed = 0;
+        for (int lookups = budget * LOOKUPS_PER_BLOCK; placed < budget && lookups > 0 && this.hasQueued(); lookups--) {
+            long current = this.peek();
+            int x = Coords.unpackX(current), y = Coords.unpackY(current), z = Coords.unpackZ(current);
+            if (!this.worldObj.blockExists(x, y, z)) {
+                this.pop();
+                this.deferred.add(current);
+                continue;
+            }
+            boolean isOrigin = x == this.xCoord && y == this.yCoord && z == this.zCoord;
+            if (this.checkForAir(x, y, z)) {
+                // keep the position queued until there is fluid again
+                if (!this.hasFluidForBlock()) break;
+                this.setFluidBlock(x, y, z);
+                placed++;
+            } else if (!isOrigin) {
+                // blocked since it was queued, the fluid must not spread through it
+                this.pop();
+                this.queued.remove(x, y, z);
+                continue;
+            }
+            this.pop();
+            for (ForgeDirection allowed_direction : allowed_directions) {
+                this.addBlockToQueue(
+                        x + allowed_direction.offsetX,
+                        y + allowed_direction.offsetY,
+                        z + allowed_direction.offsetZ);
+            }
         }
     }
 
@@ -68,49 +111,119 @@ public class BW_TileEntity_ExperimentalFloodGate extends TileFluidHandler implem
         super.writeToNBT(tag);
         tag.setBoolean("init", this.wasInited);
 
-        int[] x = new int[this.breadthFirstQueue.size()];
-        int[] y = new int[this.breadthFirstQueue.size()];
-        int[] z = new int[this.breadthFirstQueue.size()];
-        Coords[] arr = this.breadthFirstQueue.toArray(new Coords[0]);
-
-        for (int i = 0; i < this.breadthFirstQueue.size(); i++) {
-            x[i] = arr[i].x;
-            y[i] = arr[i].y;
-            z[i] = arr[i].z;
+        // NBT has no long arrays yet, every packed position is stored as two ints
+        int size = 0;
+        for (int layer = 0; layer < WORLD_HEIGHT; layer++) size += this.layerSizes[layer];
+        int[] queue = new int[size << 1];
+        int i = 0;
+        for (int layer = 0; layer < WORLD_HEIGHT; layer++) for (int j = 0; j < this.layerSizes[layer]; j++) {
+            long packed = this.layers[layer][j];
+            queue[i++] = (int) (packed >>> 32);
+            queue[i++] = (int) packed;
         }
-
-        tag.setIntArray("queueX", x);
-        tag.setIntArray("queueY", y);
-        tag.setIntArray("queueZ", z);
+        tag.setIntArray("queue", queue);
+
+        // not checked for air yet, so kept apart from the frontier
+        long[] deferred = this.deferred.toArray();
+        int[] deferredTag = new int[deferred.length << 1];
+        for (int j = 0; j < deferred.length; j++) {
+            deferredTag[j << 1] = (int) (deferred[j] >>> 32);
+            deferredTag[j << 1 | 1] = (int) deferred[j];
+        }
+        tag.setIntArray("deferred", deferredTag);
     }
 
     @Override
     public void readFromNBT(NBTTagCompound tag) {
         super.readFromNBT(tag);
         this.wasInited = tag.getBoolean("init");
-        int[] x = tag.getIntArray("queueX");
-        int[] y = tag.getIntArray("queueY");
-        int[] z = tag.getIntArray("queueZ");
-        for (int i = 0; i < x.length; i++) {
-            this.breadthFirstQueue.add(new Coords(x[i], y[i], z[i]));
+        if (tag.hasKey("queue")) {
+            int[] queue = tag.getIntArray("queue");
+            for (int i = 0; i + 1 < queue.length; i += 2)
+                this.readQueued((long) queue[i] << 32 | queue[i + 1] & 0xFFFFFFFFL);
+            int[] deferred = tag.getIntArray("deferred");
+            for (int i = 0; i + 1 < deferred.length; i += 2) {
+                long packed = (long) deferred[i] << 32 | deferred[i + 1] & 0xFFFFFFFFL;
+                if (this.queued.add(Coords.unpackX(packed), Coords.unpackY(packed), Coords.unpackZ(packed)))
+                    this.deferred.add(packed);
+            }
+        } else {
+            // saved before the queue was packed
+            int[] x = tag.getIntArray("queueX");
+            int[] y = tag.getIntArray("queueY");
+            int[] z = tag.getIntArray("queueZ");
+            for (int i = 0; i < x.length; i++) this.readQueued(Coords.pack(x[i], y[i], z[i]));
+        }
+    }
+
+    private void readQueued(long packed) {
+        if (this.queued.add(Coords.unpackX(packed), Coords.unpackY(packed), Coords.unpackZ(packed)))
+            this.push(packed);
+    }
+
+    private void push(long packed) {
+        int y = Coords.unpackY(packed);
+        if (y < 0 || y >= WORLD_HEIGHT) return;
+        long[] layer = this.layers[y];
+        if (layer == null) this.layers[y] = layer = new long[16];
+        else if (this.layerSizes[y] == layer.length) this.layers[y] = layer = Arrays.copyOf(layer, layer.length << 1);
+        layer[this.layerSizes[y]++] = packed;
+        if (y < this.lowestLayer) this.lowestLayer = y;
+    }
+
+    private boolean hasQueued() {
+        while (this.lowestLayer < WORLD_HEIGHT && this.layerSizes[this.lowestLayer] == 0) {
+            // let go of big layers once they are done
+            if (this.layers[this.lowestLayer] != null && this.layers[this.lowestLayer].length > 1024)
+                this.layers[this.lowestLayer] = null;
+            this.lowestLayer++;
         }
+        return this.lowestLayer < WORLD_HEIGHT;
     }
 
-    private void setFluidBlock(Coords current) {
-        if (!this.checkForAir(current) || this.tank.drain(1000, false) == null
-                || this.tank.drain(1000, false).amount != 1000)
-            return;
+    private long peek() {
+        return this.layers[this.lowestLayer][this.layerSizes[this.lowestLayer] - 1];
+    }
+
+    private void pop() {
+        this.layerSizes[this.lowestLayer]--;
+    }
+
+    private void retryDeferred() {
+        for (long packed : this.deferred.toArray()) {
+            int x = Coords.unpackX(packed), y = Coords.unpackY(packed), z = Coords.unpackZ(packed);
+            if (!this.worldObj.blockExists(x, y, z)) continue;
+            this.deferred.remove(packed);
+            // only air may join the frontier, anything else may be queued again once it is air
+            if (this.checkForAir(x, y, z)) this.push(packed);
+            else this.queued.remove(x, y, z);
+        }
+    }
+
+    private boolean hasFluidForBlock() {
+        FluidStack stack = this.tank.drain(1000, false);
+        return stack != null && stack.amount == 1000;
+    }
+
+    private void setFluidBlock(int x, int y, int z) {
         FluidStack stack = this.tank.drain(1000, true);
-        this.worldObj.setBlock(current.x, current.y, current.z, stack.getFluid().getBlock(), 0, 2);
+        this.worldObj.setBlock(x, y, z, stack.getFluid().getBlock(), 0, 2);
     }
 
-    private void addBlockToQueue(Coords current, ForgeDirection allowed_direction) {
-        Coords side = current.getCoordsFromSide(allowed_direction);
-        if (this.checkForAir(side)) this.breadthFirstQueue.add(side);
+    private void addBlockToQueue(int x, int y, int z) {
+        if (y < 0 || y >= WORLD_HEIGHT || this.queued.contains(x, y, z)) return;
+        if (!this.worldObj.blockExists(x, y, z)) {
+            // decide once the chunk is there
+            this.queued.add(x, y, z);
+            this.deferred.add(Coords.pack(x, y, z));
+        } else if (this.checkForAir(x, y, z)) {
+            this.queued.add(x, y, z);
+            this.push(Coords.pack(x, y, z));
+        }
     }
 
-    private boolean checkForAir(Coords coords) {
-        return this.worldObj.isAirBlock(coords.x, coords.y, coords.z);
+    private boolean checkForAir(int x, int y, int z) {
+        return this.worldObj.isAirBlock(x, y, z);
     }
 
     @Override
@@ -26,10 +26,11 @@ import static gregtech.api.enums.Textures.BlockIcons.OVERLAY_FRONT_DISTILLATION_
 import static gregtech.api.enums.Textures.BlockIcons.OVERLAY_FRONT_DISTILLATION_TOWER_ACTIVE_GLOW;
 import static gregtech.api.enums.Textures.BlockIcons.OVERLAY_FRONT_DISTILLATION_TOWER_GLOW;
 import static gregtech.api.util.GT_StructureUtility.ofHatchAdder;
+import static gregtech.api.util.GT_Utility.filterValidMTEs;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.Nullable;
 
@@ -53,12 +54,13 @@ import com.github.bartimaeusnek.bartworks.MainMod;
 import com.github.bartimaeusnek.bartworks.common.configs.ConfigHandler;
 import com.github.bartimaeusnek.bartworks.common.items.LabParts;
 import com.github.bartimaeusnek.bartworks.common.loaders.FluidLoader;
-import com.github.bartimaeusnek.bartworks.common.net.RendererPacket;
+import com.github.bartimaeusnek.bartworks.common.net.BioVatRendererPacket;
 import com.github.bartimaeusnek.bartworks.common.tileentities.tiered.GT_MetaTileEntity_RadioHatch;
 import com.github.bartimaeusnek.bartworks.util.BWRecipes;
 import com.github.bartimaeusnek.bartworks.util.BW_Util;
 import com.github.bartimaeusnek.bartworks.util.BioCulture;
 import com.github.bartimaeusnek.bartworks.util.Coords;
+import com.github.bartimaeusnek.bartworks.util.CopyOnWriteLongIntMap;
 import com.github.bartimaeusnek.bartworks.util.MathUtils;
 import com.github.bartimaeusnek.bartworks.util.ResultWrongSievert;
 import com.gtnewhorizon.structurelib.alignment.IAlignmentLimits;
@@ -82,7 +84,9 @@ import gregtech.api.util.GT_Recipe;
 
 public class GT_TileEntity_BioVat extends GT_MetaTileEntity_EnhancedMultiBlockBase<GT_TileEntity_BioVat> {
 
-    public static final HashMap<Coords, Integer> staticColorMap = new HashMap<>();
+    // dimension -> packed block position -> fluid colour, written by the network thread, read by the chunk renderer
+    private static final ConcurrentHashMap<Integer, DimensionColors> staticColorMap = new ConcurrentHashMap<>();
+    private static volatile DimensionColors lastColors;
 
     private static final byte TIMERDIVIDER = 20;
 
@@ -100,6 +104,9 @@ public class GT_TileEntity_BioVat extends GT_MetaTileEntity_EnhancedMultiBlockBa
     private int mExpectedMultiplier = 0;
     private int mTimes = 0;
     private boolean isVisibleFluid = false;
+    // what the clients were told last, a height of 0 means nothing
+    private int mSentColor;
+    private int mSentHeight;
 
     public GT_TileEntity_BioVat(int aID, String aName, String aNameRegional) {
         super(aID, aName, aNameRegional);
@@ -263,18 +270,38 @@ public class GT_TileEntity_BioVat extends GT_MetaTileEntity_EnhancedMultiBlockBa
                 // We already made sure the recipe runs. Now the vat looks for as many "parallels" as it can do
                 GT_TileEntity_BioVat.this.mExpectedMultiplier = GT_TileEntity_BioVat.this
                         .getExpectedMultiplier(this.lastRecipe.getFluidOutput(0), true);
-                GT_TileEntity_BioVat.this.mTimes = 1;
-                for (int i = 1; i < GT_TileEntity_BioVat.this.mExpectedMultiplier; i++) {
-                    if (GT_TileEntity_BioVat.this.depleteInput(this.lastRecipe.mFluidInputs[0])) {
-                        GT_TileEntity_BioVat.this.mTimes++;
-                    }
-                }
+                GT_TileEntity_BioVat.this.mTimes = 1 + GT_TileEntity_BioVat.this.depleteInputs(
+                        this.lastRecipe.mFluidInputs[0],
+                        GT_TileEntity_BioVat.this.mExpectedMultiplier - 1);
                 this.outputFluids[0].amount *= GT_TileEntity_BioVat.this.mTimes;
                 return result;
             }
         };
     }
 
+    /**
+     * Same as calling {@link #depleteInput(FluidStack)} aTimes times, every single portion has to come out of one
+     * hatch, but drains each hatch only once.
+     *
+     * @return how many portions of aLiquid were drained
+     */
+    private int depleteInputs(FluidStack aLiquid, int aTimes) {
+        if (aLiquid == null || aLiquid.amount <= 0 || aTimes <= 0) return 0;
+        int tDone = 0;
+        for (GT_MetaTileEntity_Hatch_Input tHatch : filterValidMTEs(this.mInputHatches)) {
+            FluidStack tRequest = new FluidStack(
+                    aLiquid,
+                    (int) Math.min(Integer.MAX_VALUE, (long) aLiquid.amount * (aTimes - tDone)));
+            FluidStack tLiquid = tHatch.drain(ForgeDirection.UNKNOWN, tRequest, false);
+            if (tLiquid == null || tLiquid.amount < aLiquid.amount) continue;
+            tRequest.amount = tLiquid.amount / aLiquid.amount * aLiquid.amount;
+            tLiquid = tHatch.drain(ForgeDirection.UNKNOWN, tRequest, true);
+            if (tLiquid != null) tDone += tLiquid.amount / aLiquid.amount;
+            if (tDone >= aTimes) break;
+        }
+        return tDone;
+    }
+
     @Override
     protected void setupProcessingLogic(ProcessingLogic logic) {
         super.setupProcessingLogic(logic);
@@ -330,57 +357,91 @@ public class GT_TileEntity_BioVat extends GT_MetaTileEntity_EnhancedMultiBlockBa
         return 0;
     }
 
-    private void sendAllRequiredRendererPackets() {
-        int height = this.reCalculateHeight();
-        if (this.mFluid != null && height > 1 && this.reCalculateFluidAmmount() > 0) {
-            for (int x = -1; x < 2; x++) for (int y = 1; y < height; y++)
-                for (int z = -1; z < 2; z++) this.sendPackagesOrRenewRenderer(x, y, z, this.mCulture);
+    private static final class DimensionColors {
+
+        final int wID;
+        final CopyOnWriteLongIntMap colors = new CopyOnWriteLongIntMap();
+
+        DimensionColors(int wID) {
+            this.wID = wID;
         }
     }
 
-    private void sendPackagesOrRenewRenderer(int x, int y, int z, BioCulture lCulture) {
-        int xDir = this.getXDir();
-        int zDir = this.getZDir();
+    private static CopyOnWriteLongIntMap getColorMap(int wID, boolean create) {
+        DimensionColors ret = GT_TileEntity_BioVat.lastColors;
+        if (ret != null && ret.wID == wID) return ret.colors;
+        ret = create ? GT_TileEntity_BioVat.staticColorMap.computeIfAbsent(wID, DimensionColors::new)
+                : GT_TileEntity_BioVat.staticColorMap.get(wID);
+        if (ret == null) return null;
+        GT_TileEntity_BioVat.lastColors = ret;
+        return ret.colors;
+    }
 
-        GT_TileEntity_BioVat.staticColorMap.remove(
-                new Coords(
-                        xDir + x + this.getBaseMetaTileEntity().getXCoord(),
-                        y + this.getBaseMetaTileEntity().getYCoord(),
-                        zDir + z + this.getBaseMetaTileEntity().getZCoord(),
-                        this.getBaseMetaTileEntity().getWorld().provider.dimensionId));
-        GT_TileEntity_BioVat.staticColorMap.put(
-                new Coords(
-                        xDir + x + this.getBaseMetaTileEntity().getXCoord(),
-                        y + this.getBaseMetaTileEntity().getYCoord(),
-                        zDir + z + this.getBaseMetaTileEntity().getZCoord(),
-                        this.getBaseMetaTileEntity().getWorld().provider.dimensionId),
-                lCulture == null ? BioCulture.NULLCULTURE.getColorRGB() : lCulture.getColorRGB());
+    /**
+     * @return the fluid colour at the position, or the fallback if no vat set one
+     */
+    public static int getFluidColor(int wID, int x, int y, int z, int fallback) {
+        CopyOnWriteLongIntMap colors = GT_TileEntity_BioVat.getColorMap(wID, false);
+        return colors == null ? fallback : colors.get(Coords.pack(x, y, z), fallback);
+    }
 
-        if (SideReference.Side.Server) {
-            MainMod.BW_Network_instance.sendPacketToAllPlayersInRange(
-                    this.getBaseMetaTileEntity().getWorld(),
-                    new RendererPacket(
-                            new Coords(
-                                    xDir + x + this.getBaseMetaTileEntity().getXCoord(),
-                                    y + this.getBaseMetaTileEntity().getYCoord(),
-                                    zDir + z + this.getBaseMetaTileEntity().getZCoord(),
-                                    this.getBaseMetaTileEntity().getWorld().provider.dimensionId),
-                            lCulture == null ? BioCulture.NULLCULTURE.getColorRGB() : lCulture.getColorRGB(),
-                            true),
-                    this.getBaseMetaTileEntity().getXCoord(),
-                    this.getBaseMetaTileEntity().getZCoord());
-            MainMod.BW_Network_instance.sendPacketToAllPlayersInRange(
-                    this.getBaseMetaTileEntity().getWorld(),
-                    new RendererPacket(
-                            new Coords(
-                                    xDir + x + this.getBaseMetaTileEntity().getXCoord(),
-                                    y + this.getBaseMetaTileEntity().getYCoord(),
-                                    zDir + z + this.getBaseMetaTileEntity().getZCoord(),
-                                    this.getBaseMetaTileEntity().getWorld().provider.dimensionId),
-                            lCulture == null ? BioCulture.NULLCULTURE.getColorRGB() : lCulture.getColorRGB(),
+    /**
+     * Sets the fluid colour of every block in the box, or removes it if color is null.
+     */
+    public static void setRendererColor(Coords origin, int sizeX, int sizeY, int sizeZ, Integer color) {
+        if (sizeX <= 0 || sizeY <= 0 || sizeZ <= 0) return;
+        long[] keys = new long[sizeX * sizeY * sizeZ];
+        int i = 0;
+        for (int x = 0; x < sizeX; x++) for (int y = 0; y < sizeY; y++)
+            for (int z = 0; z < sizeZ; z++) keys[i++] = Coords.pack(origin.x + x, origin.y + y, origin.z + z);
+        if (color != null) GT_TileEntity_BioVat.getColorMap(origin.wID, true).putAll(keys, color);
+        else {
+            CopyOnWriteLongIntMap colors = GT_TileEntity_BioVat.getColorMap(origin.wID, false);
+            if (colors != null) colors.removeAll(keys);
+        }
+    }
+
+    private Coords getRendererOrigin(int xDir, int zDir) {
+        return new Coords(
+                xDir - 1 + this.getBaseMetaTileEntity().getXCoord(),
+                1 + this.getBaseMetaTileEntity().getYCoord(),
+                zDir - 1 + this.getBaseMetaTileEntity().getZCoord(),
+                this.getBaseMetaTileEntity().getWorld().provider.dimensionId);
+    }
+
+    private static int getRendererColor(BioCulture lCulture) {
+        return lCulture == null ? BioCulture.NULLCULTURE.getColorRGB() : lCulture.getColorRGB();
+    }
+
+    private void sendAllRequiredRendererPackets(EntityPlayerMP player) {
+        int height = this.reCalculateHeight();
+        if (this.mFluid != null && height > 1 && this.reCalculateFluidAmmount() > 0) {
+            MainMod.BW_Network_instance.sendToPlayer(
+                    new BioVatRendererPacket(
+                            this.getRendererOrigin(this.getXDir(), this.getZDir()),
+                            3,
+                            height - 1,
+                            3,
+                            GT_TileEntity_BioVat.getRendererColor(this.mCulture),
                             false),
-                    this.getBaseMetaTileEntity().getXCoord(),
-                    this.getBaseMetaTileEntity().getZCoord());
+                    player);
+        }
+    }
+
+    private void renewRenderer(int xDir, int zDir, BioCulture lCulture) {
+        int color = GT_TileEntity_BioVat.getRendererColor(lCulture);
+        if (color != this.mSentColor || this.height != this.mSentHeight) {
+            Coords origin = this.getRendererOrigin(xDir, zDir);
+            GT_TileEntity_BioVat.setRendererColor(origin, 3, this.height - 1, 3, color);
+            if (SideReference.Side.Server) {
+                MainMod.BW_Network_instance.sendPacketToAllPlayersInRange(
+                        this.getBaseMetaTileEntity().getWorld(),
+                        new BioVatRendererPacket(origin, 3, this.height - 1, 3, color, false),
+                        this.getBaseMetaTileEntity().getXCoord(),
+                        this.getBaseMetaTileEntity().getZCoord());
+            }
+            this.mSentColor = color;
+            this.mSentHeight = this.height;
         }
         this.needsVisualUpdate = true;
     }
@@ -400,7 +461,7 @@ public class GT_TileEntity_BioVat extends GT_MetaTileEntity_EnhancedMultiBlockBa
                         .isPlayerWatchingChunk(tPlayer, tChunk.xPosition, tChunk.zPosition)) {
                     if (!this.playerMPHashSet.contains(tPlayer)) {
                         this.playerMPHashSet.add(tPlayer);
-                        this.sendAllRequiredRendererPackets();
+                        this.sendAllRequiredRendererPackets(tPlayer);
                     }
                 } else {
                     this.playerMPHashSet.remove(tPlayer);
@@ -449,15 +510,10 @@ public class GT_TileEntity_BioVat extends GT_MetaTileEntity_EnhancedMultiBlockBa
                                 xDir + x + this.getBaseMetaTileEntity().getXCoord(),
                                 y + this.getBaseMetaTileEntity().getYCoord(),
                                 zDir + z + this.getBaseMetaTileEntity().getZCoord());
-                    GT_TileEntity_BioVat.staticColorMap.remove(
-                            new Coords(
-                                    xDir + x + this.getBaseMetaTileEntity().getXCoord(),
-                                    y + this.getBaseMetaTileEntity().getYCoord(),
-                                    zDir + z + this.getBaseMetaTileEntity().getZCoord()),
-                            this.getBaseMetaTileEntity().getWorld().provider.dimensionId);
                 }
             }
         }
+        GT_TileEntity_BioVat.setRendererColor(this.getRendererOrigin(xDir, zDir), 3, 2, 3, null);
     }
 
     private int reCalculateFluidAmmount() {
@@ -495,21 +551,13 @@ public class GT_TileEntity_BioVat extends GT_MetaTileEntity_EnhancedMultiBlockBa
                 if (this.mFluid != null && this.height > 1 && this.reCalculateFluidAmmount() > 0) {
                     if (!BW_Util.areStacksEqualOrNull(aStack, this.mStack) || this.needsVisualUpdate
                             && this.getBaseMetaTileEntity().getTimer() % GT_TileEntity_BioVat.TIMERDIVIDER == 1) {
-                        for (int x = -1; x < 2; x++) {
-                            for (int y = 1; y < this.height; y++) {
-                                for (int z = -1; z < 2; z++) {
-                                    if (aStack == null
-                                            || aStack.getItem() instanceof LabParts && aStack.getItemDamage() == 0) {
-                                        if (this.mCulture == null || aStack == null
-                                                || aStack.getTagCompound() == null
-                                                || this.mCulture.getID() != aStack.getTagCompound().getInteger("ID")) {
-                                            lCulture = aStack == null || aStack.getTagCompound() == null ? null
-                                                    : BioCulture
-                                                            .getBioCulture(aStack.getTagCompound().getString("Name"));
-                                            this.sendPackagesOrRenewRenderer(x, y, z, lCulture);
-                                        }
-                                    }
-                                }
+                        if (aStack == null || aStack.getItem() instanceof LabParts && aStack.getItemDamage() == 0) {
+                            if (this.mCulture == null || aStack == null
+                                    || aStack.getTagCompound() == null
+                                    || this.mCulture.getID() != aStack.getTagCompound().getInteger("ID")) {
+                                lCulture = aStack == null || aStack.getTagCompound() == null ? null
+                                        : BioCulture.getBioCulture(aStack.getTagCompound().getString("Name"));
+                                this.renewRenderer(xDir, zDir, lCulture);
                             }
                         }
                         this.mStack = aStack;
@@ -589,26 +637,19 @@ public class GT_TileEntity_BioVat extends GT_MetaTileEntity_EnhancedMultiBlockBa
     }
 
     private void sendRenderPackets(int xDir, int zDir) {
+        this.mSentHeight = 0;
         if (SideReference.Side.Server) {
-            for (int x = -1; x < 2; x++) {
-                for (int y = 1; y < 3; y++) {
-                    for (int z = -1; z < 2; z++) {
-                        MainMod.BW_Network_instance.sendPacketToAllPlayersInRange(
-                                this.getBaseMetaTileEntity().getWorld(),
-                                new RendererPacket(
-                                        new Coords(
-                                                xDir + x + this.getBaseMetaTileEntity().getXCoord(),
-                                                y + this.getBaseMetaTileEntity().getYCoord(),
-                                                zDir + z + this.getBaseMetaTileEntity().getZCoord(),
-                                                this.getBaseMetaTileEntity().getWorld().provider.dimensionId),
-                                        this.mCulture == null ? BioCulture.NULLCULTURE.getColorRGB()
-                                                : this.mCulture.getColorRGB(),
-                                        true),
-                                this.getBaseMetaTileEntity().getXCoord(),
-                                this.getBaseMetaTileEntity().getZCoord());
-                    }
-                }
-            }
+            MainMod.BW_Network_instance.sendPacketToAllPlayersInRange(
+                    this.getBaseMetaTileEntity().getWorld(),
+                    new BioVatRendererPacket(
+                            this.getRendererOrigin(xDir, zDir),
+                            3,
+                            2,
+                            3,
+                            GT_TileEntity_BioVat.getRendererColor(this.mCulture),
+                            true),
+                    this.getBaseMetaTileEntity().getXCoord(),
+                    this.getBaseMetaTileEntity().getZCoord());
         }
     }
 
@@ -76,7 +76,12 @@ public class GT_TileEntity_ElectricImplosionCompressor
         implements ISurvivalConstructable {
 
     private static final boolean pistonEnabled = !ConfigHandler.disablePistonInEIC;
+    // the containment blocks stay, the server only tells the clients when to animate them
+    private static final boolean pistonClientSide = ConfigHandler.clientSidePistonInEIC;
+    private static final int PISTON_CYCLE_RESEND_TICKS = 200;
     private Boolean piston = true;
+    private boolean mSentPistonCycle = false;
+    private boolean mClientPistonCycle = false;
     private static final SoundResource sound = SoundResource.RANDOM_EXPLODE;
     private final ArrayList<ChunkCoordinates> chunkCoordinates = new ArrayList<>(5);
     private int mBlockTier = 0;
@@ -307,6 +312,24 @@ public class GT_TileEntity_ElectricImplosionCompressor
     public void onPostTick(IGregTechTileEntity aBaseMetaTileEntity, long aTick) {
         super.onPostTick(aBaseMetaTileEntity, aTick);
 
+        if (pistonEnabled && pistonClientSide && aBaseMetaTileEntity.isServerSide()) {
+            boolean active = aBaseMetaTileEntity.isActive();
+            // resend now and then for players that came in range after the cycle started
+            if (active != this.mSentPistonCycle || active && aTick % PISTON_CYCLE_RESEND_TICKS == 0) {
+                MainMod.BW_Network_instance.sendPacketToAllPlayersInRange(
+                        aBaseMetaTileEntity.getWorld(),
+                        new EICPacket(
+                                new Coords(
+                                        aBaseMetaTileEntity.getXCoord(),
+                                        aBaseMetaTileEntity.getYCoord(),
+                                        aBaseMetaTileEntity.getZCoord()),
+                                active ? EICPacket.CYCLE_STARTED : EICPacket.CYCLE_STOPPED),
+                        aBaseMetaTileEntity.getXCoord(),
+                        aBaseMetaTileEntity.getZCoord());
+                this.mSentPistonCycle = active;
+            }
+        }
+
         if (pistonEnabled && aBaseMetaTileEntity.isActive() && aTick % 20 == 0) {
             if (aBaseMetaTileEntity.isClientSide()) this.animatePiston(aBaseMetaTileEntity);
             else if (aBaseMetaTileEntity.hasMufflerUpgrade()) MainMod.BW_Network_instance.sendPacketToAllPlayersInRange(
@@ -359,7 +382,7 @@ public class GT_TileEntity_ElectricImplosionCompressor
     }
 
     private void activatePiston() {
-        if (!pistonEnabled) return;
+        if (!pistonEnabled || pistonClientSide) return;
         IGregTechTileEntity aBaseMetaTileEntity = this.getBaseMetaTileEntity();
         if (!aBaseMetaTileEntity.isServerSide()) return;
         if (this.piston) {
@@ -384,15 +407,24 @@ public class GT_TileEntity_ElectricImplosionCompressor
                 this.chunkCoordinates.get(2).posX,
                 this.chunkCoordinates.get(2).posY,
                 this.chunkCoordinates.get(2).posZ,
-                10);
+                10,
+                this.mClientPistonCycle);
     }
 
     @SideOnly(Side.CLIENT)
-    private void spawnVisualPistonBlocks(World world, int x, int y, int z, int age) {
-        BW_EICPistonVisualizer pistonVisualizer = new BW_EICPistonVisualizer(world, x, y, z, age);
+    private void spawnVisualPistonBlocks(World world, int x, int y, int z, int age, boolean pushOut) {
+        BW_EICPistonVisualizer pistonVisualizer = new BW_EICPistonVisualizer(world, x, y, z, age, pushOut);
         Minecraft.getMinecraft().effectRenderer.addEffect(pistonVisualizer);
     }
 
+    /**
+     * Called on the client when the server animates the piston client side only, the containment blocks are still in
+     * place then and get pushed out instead.
+     */
+    public void setClientPistonCycle(boolean cycling) {
+        this.mClientPistonCycle = cycling;
+    }
+
     @Override
     public void saveNBTData(NBTTagCompound aNBT) {
         super.saveNBTData(aNBT);
@@ -419,7 +451,9 @@ public class GT_TileEntity_ElectricImplosionCompressor
 
         isOK = isOK && this.mMaintenanceHatches.size() == 1 && energyHatches.size() >= 1;
         if (isOK) {
-            this.activatePiston();
+            // blocks taken out before the client side piston got enabled are put back
+            if (pistonClientSide) this.resetPiston();
+            else this.activatePiston();
             return true;
         }
         this.resetPiston();
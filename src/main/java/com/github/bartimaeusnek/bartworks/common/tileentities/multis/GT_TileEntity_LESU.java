@@ -16,6 +16,8 @@ package com.github.bartimaeusnek.bartworks.common.tileentities.multis;
 import java.awt.Color;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
 
 import net.minecraft.client.renderer.texture.IIconRegister;
 import net.minecraft.entity.player.EntityPlayer;
@@ -34,6 +36,8 @@ import com.github.bartimaeusnek.bartworks.common.loaders.ItemRegistry;
 import com.github.bartimaeusnek.bartworks.util.BW_Tooltip_Reference;
 import com.github.bartimaeusnek.bartworks.util.ChatColorHelper;
 import com.github.bartimaeusnek.bartworks.util.ConnectedBlocksChecker;
+import com.github.bartimaeusnek.bartworks.util.Coords;
+import com.github.bartimaeusnek.bartworks.util.LongOpenHashSet;
 import com.gtnewhorizons.modularui.api.drawable.Text;
 import com.gtnewhorizons.modularui.api.forge.ItemStackHandler;
 import com.gtnewhorizons.modularui.api.screen.ModularWindow;
@@ -68,7 +72,16 @@ public class GT_TileEntity_LESU extends GT_MetaTileEntity_MultiBlockBase {
     private static final IIcon[] iIcons = new IIcon[4];
     private static final IIconContainer[] iIconContainers = new IIconContainer[4];
     private static final ITexture[][] iTextures = new ITexture[4][1];
-    public ConnectedBlocksChecker connectedcells;
+    private static final Set<GT_TileEntity_LESU> LOADED_LESUS = Collections.newSetFromMap(new WeakHashMap<>());
+    private static final int[][] SIDES = { { 1, 0, 0 }, { -1, 0, 0 }, { 0, 1, 0 }, { 0, -1, 0 }, { 0, 0, 1 },
+            { 0, 0, -1 } };
+    /**
+     * All connected cells, including the controller itself.
+     */
+    public final ConnectedBlocksChecker connectedcells = new ConnectedBlocksChecker();
+    private final LongOpenHashSet addedCells = new LongOpenHashSet();
+    private boolean cellsDirty = true;
+    private boolean foreignController;
     public final ItemStack[] circuits = new ItemStack[5];
     private final ItemStackHandler circuitsInventoryHandler = new ItemStackHandler(this.circuits) {
 
@@ -314,15 +327,102 @@ public class GT_TileEntity_LESU extends GT_MetaTileEntity_MultiBlockBase {
 
     @Override
     public void onFirstTick(IGregTechTileEntity aBaseMetaTileEntity) {
+        if (aBaseMetaTileEntity.isServerSide()) {
+            LOADED_LESUS.add(this);
+            this.notifyNeighbouringLESUs();
+        }
         this.checkMachine(aBaseMetaTileEntity, null);
         super.onFirstTick(aBaseMetaTileEntity);
     }
 
+    @Override
+    public void onRemoval() {
+        if (this.getBaseMetaTileEntity().isServerSide()) {
+            LOADED_LESUS.remove(this);
+            this.notifyNeighbouringLESUs();
+        }
+        super.onRemoval();
+    }
+
+    /**
+     * Called by the LESU cell block whenever a cell is placed or broken.
+     */
+    public static void onCellChanged(World aWorld, int aX, int aY, int aZ, boolean aAdded) {
+        long tPos = Coords.pack(aX, aY, aZ);
+        for (GT_TileEntity_LESU tLESU : LOADED_LESUS) {
+            if (!tLESU.isLoadedIn(aWorld)) continue;
+            if (!aAdded) {
+                if (tLESU.connectedcells.hashset.contains(tPos)) tLESU.cellsDirty = true;
+                continue;
+            }
+            for (int[] tSide : SIDES) {
+                if (tLESU.connectedcells.hashset
+                        .contains(Coords.pack(aX + tSide[0], aY + tSide[1], aZ + tSide[2]))) {
+                    tLESU.addedCells.add(tPos);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * A LESU controller touching our cells disables both machines, so tell the others when this one comes or goes.
+     */
+    private void notifyNeighbouringLESUs() {
+        IGregTechTileEntity tBase = this.getBaseMetaTileEntity();
+        for (GT_TileEntity_LESU tLESU : LOADED_LESUS) {
+            if (tLESU == this || !tLESU.isLoadedIn(tBase.getWorld())) continue;
+            for (int[] tSide : SIDES) {
+                if (tLESU.connectedcells.hashset.contains(
+                        Coords.pack(
+                                tBase.getXCoord() + tSide[0],
+                                tBase.getYCoord() + tSide[1],
+                                tBase.getZCoord() + tSide[2]))) {
+                    tLESU.cellsDirty = true;
+                    break;
+                }
+            }
+        }
+    }
+
+    private boolean isLoadedIn(World aWorld) {
+        IGregTechTileEntity tBase = this.getBaseMetaTileEntity();
+        return tBase != null && !tBase.isInvalidTileEntity() && tBase.getWorld() == aWorld;
+    }
+
+    private boolean touchesForeignController(IGregTechTileEntity aBaseMetaTileEntity, int aFrom) {
+        return this.connectedcells.get_meta_of_sideblocks(
+                aBaseMetaTileEntity.getWorld(),
+                aBaseMetaTileEntity.getMetaTileID(),
+                new int[] { aBaseMetaTileEntity.getXCoord(), aBaseMetaTileEntity.getYCoord(),
+                        aBaseMetaTileEntity.getZCoord() },
+                true,
+                aFrom);
+    }
+
+    private void growCells(IGregTechTileEntity aBaseMetaTileEntity) {
+        long[] tAdded = this.addedCells.toArray();
+        this.addedCells.clear();
+        World tWorld = aBaseMetaTileEntity.getWorld();
+        for (long tPos : tAdded) {
+            int x = Coords.unpackX(tPos), y = Coords.unpackY(tPos), z = Coords.unpackZ(tPos);
+            if (this.connectedcells.hashset.contains(tPos) || tWorld.getBlock(x, y, z) != ItemRegistry.BW_BLOCKS[1])
+                continue;
+            int tFrom = this.connectedcells.size();
+            this.connectedcells.get_connected(tWorld, x, y, z, ItemRegistry.BW_BLOCKS[1]);
+            this.foreignController |= this.touchesForeignController(aBaseMetaTileEntity, tFrom);
+        }
+        this.updateFromCells();
+    }
+
     @Override
     public void onPostTick(IGregTechTileEntity aBaseMetaTileEntity, long aTick) {
         if (aBaseMetaTileEntity.isServerSide()) {
             this.mMaxProgresstime = 1;
-            if (aTick % 20 == 0) this.checkMachine(aBaseMetaTileEntity, null);
+            if (this.cellsDirty) this.checkMachine(aBaseMetaTileEntity, null);
+            else if (!this.addedCells.isEmpty()) this.growCells(aBaseMetaTileEntity);
+            // like the old 20 tick rescan, turn the machine back on if it got disabled, e.g. by a soft mallet
+            else if (aTick % 20 == 0) this.updateFromCells();
             this.mWrench = true;
             this.mScrewdriver = true;
             this.mSoftHammer = true;
@@ -361,20 +461,42 @@ public class GT_TileEntity_LESU extends GT_MetaTileEntity_MultiBlockBase {
     @Override
     public boolean checkMachine(IGregTechTileEntity aBaseMetaTileEntity, ItemStack itemStack) {
         long startingTime = System.nanoTime();
-        this.connectedcells = new ConnectedBlocksChecker();
+        this.cellsDirty = false;
+        this.addedCells.clear();
+        this.connectedcells.clear();
         this.connectedcells.get_connected(
                 aBaseMetaTileEntity.getWorld(),
                 aBaseMetaTileEntity.getXCoord(),
                 aBaseMetaTileEntity.getYCoord(),
                 aBaseMetaTileEntity.getZCoord(),
                 ItemRegistry.BW_BLOCKS[1]);
+        this.foreignController = this.touchesForeignController(aBaseMetaTileEntity, 0);
+        boolean formed = this.updateFromCells();
 
-        if (this.connectedcells.get_meta_of_sideblocks(
-                aBaseMetaTileEntity.getWorld(),
-                this.getBaseMetaTileEntity().getMetaTileID(),
-                new int[] { aBaseMetaTileEntity.getXCoord(), aBaseMetaTileEntity.getYCoord(),
-                        aBaseMetaTileEntity.getZCoord() },
-                true)) {
+        long finishedTime = System.nanoTime();
+        // System.out.println("LESU LookUp: "+((finishedTime - startingTime) / 1000000)+"ms");
+        if (finishedTime - startingTime > 5000000) MainMod.LOGGER.warn(
+                "LESU LookUp took longer than 5ms!(" + (finishedTime - startingTime)
+                        + "ns / "
+                        + (finishedTime - startingTime) / 1000000
+                        + "ms) Owner:"
+                        + this.getBaseMetaTileEntity().getOwnerName()
+                        + " Check at x:"
+                        + this.getBaseMetaTileEntity().getXCoord()
+                        + " y:"
+                        + this.getBaseMetaTileEntity().getYCoord()
+                        + " z:"
+                        + this.getBaseMetaTileEntity().getZCoord()
+                        + " DIM-ID: "
+                        + this.getBaseMetaTileEntity().getWorld().provider.dimensionId);
+        return formed;
+    }
+
+    /**
+     * Applies the current cell graph to the machine, without touching the world.
+     */
+    private boolean updateFromCells() {
+        if (this.foreignController) {
             this.getBaseMetaTileEntity().disableWorking();
             this.getBaseMetaTileEntity().setActive(false);
             this.mStorage = 0;
@@ -384,9 +506,9 @@ public class GT_TileEntity_LESU extends GT_MetaTileEntity_MultiBlockBase {
         }
 
         this.mEfficiency = this.getMaxEfficiency(null);
-        this.mStorage = ConfigHandler.energyPerCell * this.connectedcells.hashset.size() >= Long.MAX_VALUE - 1
-                || ConfigHandler.energyPerCell * this.connectedcells.hashset.size() < 0 ? Long.MAX_VALUE - 1
-                        : ConfigHandler.energyPerCell * this.connectedcells.hashset.size();
+        this.mStorage = ConfigHandler.energyPerCell * this.connectedcells.size() >= Long.MAX_VALUE - 1
+                || ConfigHandler.energyPerCell * this.connectedcells.size() < 0 ? Long.MAX_VALUE - 1
+                        : ConfigHandler.energyPerCell * this.connectedcells.size();
         this.mMaxProgresstime = 1;
         this.mProgresstime = 0;
 
@@ -399,23 +521,6 @@ public class GT_TileEntity_LESU extends GT_MetaTileEntity_MultiBlockBase {
 
         this.getBaseMetaTileEntity().enableWorking();
         this.getBaseMetaTileEntity().setActive(true);
-
-        long finishedTime = System.nanoTime();
-        // System.out.println("LESU LookUp: "+((finishedTime - startingTime) / 1000000)+"ms");
-        if (finishedTime - startingTime > 5000000) MainMod.LOGGER.warn(
-                "LESU LookUp took longer than 5ms!(" + (finishedTime - startingTime)
-                        + "ns / "
-                        + (finishedTime - startingTime) / 1000000
-                        + "ms) Owner:"
-                        + this.getBaseMetaTileEntity().getOwnerName()
-                        + " Check at x:"
-                        + this.getBaseMetaTileEntity().getXCoord()
-                        + " y:"
-                        + this.getBaseMetaTileEntity().getYCoord()
-                        + " z:"
-                        + this.getBaseMetaTileEntity().getZCoord()
-                        + " DIM-ID: "
-                        + this.getBaseMetaTileEntity().getWorld().provider.dimensionId);
         return true;
     }
 
@@ -16,8 +16,12 @@ package com.github.bartimaeusnek.bartworks.common.tileentities.tiered;
 import static gregtech.api.enums.GT_Values.ticksBetweenSounds;
 
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.ResourceLocation;
@@ -75,9 +79,11 @@ public class GT_MetaTileEntity_RadioHatch extends GT_MetaTileEntity_Hatch implem
     private byte mass;
     private String material;
     private byte coverage;
-    private ItemStack lastUsedItem = null;
-    private boolean lastFail = false;
-    private GT_Recipe lastRecipe = null;
+    // the input slot as of its last evaluation, the hatch only looks at it again when it changes
+    private ItemStack seenStack = null;
+    private Item seenItem = null;
+    private int seenMeta = 0;
+    private RadioHatchInput seenInput = null;
 
     public GT_MetaTileEntity_RadioHatch(int aID, String aName, String aNameRegional, int aTier) {
         super(
@@ -162,11 +168,7 @@ public class GT_MetaTileEntity_RadioHatch extends GT_MetaTileEntity_Hatch implem
         BaseMetaTileEntity myMetaTileEntity = (BaseMetaTileEntity) this.getBaseMetaTileEntity();
         if (myMetaTileEntity.isServerSide()) {
 
-            if (this.mass > 0) {
-                ++this.timer;
-            }
-
-            if (this.mass > 0 && (this.decayTime == 0 || this.decayTime > 0 && this.timer % this.decayTime == 0)) {
+            if (this.mass > 0 && ++this.timer >= this.decayTime) {
                 this.mass--;
                 if (this.mass == 0) {
                     this.material = StatCollector.translateToLocal("tooltip.bw.empty.name");
@@ -184,62 +186,68 @@ public class GT_MetaTileEntity_RadioHatch extends GT_MetaTileEntity_Hatch implem
             if (this.mass == 0) {
                 ItemStack lStack = this.mInventory[0];
 
-                if (lStack == null) {
-                    this.colorForGUI = new short[] { 0x37, 0x37, 0x37 };
-                    return;
-                }
-                ItemData itemData = GT_OreDictUnificator.getAssociation(lStack);
-                if (itemData != null) {
-                    Materials mat = itemData.mMaterial.mMaterial;
-                    this.colorForGUI = new short[] { mat.getRGBA()[0], mat.getRGBA()[1], mat.getRGBA()[2] };
-                } else {
-                    this.colorForGUI = new short[] { 0x37, 0x37, 0x37 };
+                if (lStack != this.seenStack || lStack != null
+                        && (lStack.getItem() != this.seenItem || lStack.getItemDamage() != this.seenMeta)) {
+                    this.seenStack = lStack;
+                    this.seenItem = lStack == null ? null : lStack.getItem();
+                    this.seenMeta = lStack == null ? 0 : lStack.getItemDamage();
+                    this.seenInput = lStack == null ? null : RadioHatchInput.of(lStack);
+                    System.arraycopy(
+                            this.seenInput == null ? RadioHatchInput.NO_COLOR : this.seenInput.color,
+                            0,
+                            this.getColorForGUI(),
+                            0,
+                            3);
                 }
 
-                if (this.lastFail && GT_Utility.areStacksEqual(this.lastUsedItem, lStack, true)) {
+                if (this.seenInput == null || this.seenInput.recipe == null
+                        || this.seenInput.recipe.mDuration > this.cap)
                     return;
-                }
 
-                if (!this.lastFail && this.lastUsedItem != null && this.lastRecipe != null) {
-                    if (GT_Utility.areStacksEqual(this.lastUsedItem, lStack, true)) {
-                        this.mass = (byte) this.lastRecipe.mDuration;
-                        this.decayTime = this.lastRecipe.mSpecialValue;
-                        this.sievert = this.lastRecipe.mEUt;
-                        this.material = this.lastUsedItem.getDisplayName();
-                        lStack.stackSize--;
-                        this.updateSlots();
-                    } else {
-                        this.lastRecipe = null;
-                    }
-                }
+                GT_Recipe tRecipe = this.seenInput.recipe;
+                this.mass = (byte) tRecipe.mDuration;
+                this.decayTime = tRecipe.mSpecialValue;
+                this.sievert = tRecipe.mEUt;
+                this.material = lStack.getDisplayName();
+                lStack.stackSize--;
+                this.updateSlots();
+            }
+        }
+    }
 
-                if (this.lastRecipe == null || this.lastFail) {
-                    this.lastRecipe = BWRecipes.instance.getMappingsFor(BWRecipes.RADHATCH).findRecipe(
-                            this.getBaseMetaTileEntity(),
-                            false,
-                            Integer.MAX_VALUE - 7,
-                            null,
-                            this.mInventory[0]);
-                    if (this.lastRecipe == null) {
-                        this.lastFail = true;
-                        this.lastUsedItem = this.mInventory[0] == null ? null : this.mInventory[0].copy();
-                    } else {
-                        if (this.lastRecipe.mDuration > this.cap) {
-                            this.lastFail = true;
-                            this.lastUsedItem = this.mInventory[0].copy();
-                            return;
-                        }
-                        this.lastFail = false;
-                        this.lastUsedItem = this.mInventory[0].copy();
-                        this.mass = (byte) this.lastRecipe.mDuration;
-                        this.decayTime = this.lastRecipe.mSpecialValue;
-                        this.sievert = this.lastRecipe.mEUt;
-                        this.material = lStack.getDisplayName();
-                        lStack.stackSize--;
-                        this.updateSlots();
-                    }
-                }
+    /**
+     * Colour and recipe of an input, only depend on Item and meta so they are looked up once per kind of input instead
+     * of every time a hatch runs empty. The RADHATCH map is complete once the server ticks.
+     */
+    private static final class RadioHatchInput {
+
+        private static final short[] NO_COLOR = { 0x37, 0x37, 0x37 };
+        private static final Map<Item, Map<Integer, RadioHatchInput>> CACHE = new IdentityHashMap<>();
+
+        private final short[] color;
+        private final GT_Recipe recipe;
+
+        private RadioHatchInput(short[] color, GT_Recipe recipe) {
+            this.color = color;
+            this.recipe = recipe;
+        }
+
+        private static RadioHatchInput of(ItemStack aStack) {
+            Map<Integer, RadioHatchInput> tMetas = CACHE.computeIfAbsent(aStack.getItem(), k -> new HashMap<>());
+            RadioHatchInput ret = tMetas.get(aStack.getItemDamage());
+            if (ret != null) return ret;
+
+            short[] tColor = NO_COLOR;
+            ItemData itemData = GT_OreDictUnificator.getAssociation(aStack);
+            if (itemData != null) {
+                Materials mat = itemData.mMaterial.mMaterial;
+                tColor = new short[] { mat.getRGBA()[0], mat.getRGBA()[1], mat.getRGBA()[2] };
             }
+            GT_Recipe tRecipe = BWRecipes.instance.getMappingsFor(BWRecipes.RADHATCH)
+                    .findRecipe(null, false, Integer.MAX_VALUE - 7, null, aStack);
+            ret = new RadioHatchInput(tColor, tRecipe);
+            tMetas.put(aStack.getItemDamage(), ret);
+            return ret;
         }
     }
 
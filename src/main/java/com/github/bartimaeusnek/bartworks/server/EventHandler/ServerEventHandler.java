@@ -13,7 +13,12 @@
 
 package com.github.bartimaeusnek.bartworks.server.EventHandler;
 
+import java.util.Arrays;
+import java.util.WeakHashMap;
+
+import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraftforge.event.entity.EntityJoinWorldEvent;
 import net.minecraftforge.oredict.OreDictionary;
@@ -33,6 +38,12 @@ import gregtech.api.util.GT_OreDictUnificator;
 
 public class ServerEventHandler {
 
+    private static final Replacement NO_REPLACEMENT = new Replacement(null, null);
+    // ore ID -> unification target, filled the first time an ore ID shows up in an inventory
+    private static Replacement[] replacements = new Replacement[0];
+
+    private final WeakHashMap<EntityPlayer, SeenSlots> seenSlots = new WeakHashMap<>();
+
     // MinecraftForge.EVENT_BUS
     @SubscribeEvent(priority = EventPriority.LOWEST)
     public void EntityJoinWorldEvent(EntityJoinWorldEvent event) {
@@ -49,48 +60,104 @@ public class ServerEventHandler {
                 || event.player.worldObj.getTotalWorldTime() % 20 != 0)
             return;
 
-        boolean replace = false;
-        ItemStack toReplace = null;
-        for (int i = 0; i < event.player.inventory.mainInventory.length; i++) {
-            ItemStack stack = event.player.inventory.mainInventory[i];
-            if (stack == null) continue;
-            int[] oreIDs = OreDictionary.getOreIDs(stack);
-
-            if (oreIDs.length > 0) {
-                loop: for (int oreID : oreIDs) {
-                    String oreDictName = OreDictionary.getOreName(oreID);
-                    for (Werkstoff e : Werkstoff.werkstoffHashSet) {
-                        replace = e.getGenerationFeatures().enforceUnification;
-                        if (replace) {
-                            if (oreDictName.contains(e.getVarName())) {
-                                String prefix = oreDictName.replace(e.getVarName(), "");
-                                OrePrefixes prefixes = OrePrefixes.getPrefix(prefix);
-                                if (prefixes == null) {
-                                    continue;
-                                }
-                                toReplace = GT_OreDictUnificator.get(prefixes, e.getVarName(), stack.stackSize);
-                                break loop;
-                            }
-                            for (String s : e.getADDITIONAL_OREDICT()) {
-                                if (oreDictName.contains(s)) {
-                                    String prefix = oreDictName.replace(s, "");
-                                    OrePrefixes prefixes = OrePrefixes.getPrefix(prefix);
-                                    if (prefixes == null) {
-                                        continue;
-                                    }
-                                    toReplace = GT_OreDictUnificator.get(prefixes, e.getVarName(), stack.stackSize);
-                                    break loop;
-                                }
-                            }
-                        }
-                        replace = false;
-                    }
-                }
+        ItemStack[] inventory = event.player.inventory.mainInventory;
+        SeenSlots seen = this.seenSlots.get(event.player);
+        if (seen == null || seen.stacks.length != inventory.length)
+            this.seenSlots.put(event.player, seen = new SeenSlots(inventory.length));
+
+        for (int i = 0; i < inventory.length; i++) {
+            ItemStack stack = inventory[i];
+            if (stack == null || seen.isUnchanged(i, stack)) continue;
+
+            ItemStack toReplace = null;
+            for (int oreID : OreDictionary.getOreIDs(stack)) {
+                Replacement replacement = ServerEventHandler.getReplacement(oreID);
+                if (replacement == ServerEventHandler.NO_REPLACEMENT) continue;
+                toReplace = GT_OreDictUnificator
+                        .get(replacement.prefix, replacement.werkstoff.getVarName(), stack.stackSize);
+                break;
             }
-            if (replace && toReplace != null) {
+            if (toReplace != null) {
                 event.player.inventory.setInventorySlotContents(i, toReplace);
-                replace = false;
+                stack = toReplace;
+            }
+            seen.remember(i, stack);
+        }
+    }
+
+    private static Replacement getReplacement(int oreID) {
+        if (oreID >= ServerEventHandler.replacements.length) ServerEventHandler.replacements = Arrays.copyOf(
+                ServerEventHandler.replacements,
+                Math.max(oreID + 1, OreDictionary.getOreNames().length));
+        Replacement ret = ServerEventHandler.replacements[oreID];
+        if (ret == null) ServerEventHandler.replacements[oreID] = ret = ServerEventHandler
+                .findReplacement(OreDictionary.getOreName(oreID));
+        return ret;
+    }
+
+    private static Replacement findReplacement(String oreDictName) {
+        for (Werkstoff e : Werkstoff.werkstoffHashSet) {
+            if (!e.getGenerationFeatures().enforceUnification) continue;
+            if (oreDictName.contains(e.getVarName())) {
+                OrePrefixes prefixes = OrePrefixes.getPrefix(oreDictName.replace(e.getVarName(), ""));
+                if (prefixes == null) {
+                    continue;
+                }
+                return new Replacement(prefixes, e);
             }
+            for (String s : e.getADDITIONAL_OREDICT()) {
+                if (oreDictName.contains(s)) {
+                    OrePrefixes prefixes = OrePrefixes.getPrefix(oreDictName.replace(s, ""));
+                    if (prefixes == null) {
+                        continue;
+                    }
+                    return new Replacement(prefixes, e);
+                }
+            }
+        }
+        return ServerEventHandler.NO_REPLACEMENT;
+    }
+
+    /**
+     * What an OreDict name gets unified to, the first enforced Werkstoff whose name or additional OreDict name is part
+     * of it, and the prefix left over.
+     */
+    private static class Replacement {
+
+        final OrePrefixes prefix;
+        final Werkstoff werkstoff;
+
+        Replacement(OrePrefixes prefix, Werkstoff werkstoff) {
+            this.prefix = prefix;
+            this.werkstoff = werkstoff;
+        }
+    }
+
+    /**
+     * The stacks of a player's inventory that were already looked at, so the sweep only has to handle slots that
+     * changed since.
+     */
+    private static class SeenSlots {
+
+        final ItemStack[] stacks;
+        final Item[] items;
+        final int[] damages;
+
+        SeenSlots(int size) {
+            this.stacks = new ItemStack[size];
+            this.items = new Item[size];
+            this.damages = new int[size];
+        }
+
+        boolean isUnchanged(int slot, ItemStack stack) {
+            return this.stacks[slot] == stack && this.items[slot] == stack.getItem()
+                    && this.damages[slot] == stack.getItemDamage();
+        }
+
+        void remember(int slot, ItemStack stack) {
+            this.stacks[slot] = stack;
+            this.items[slot] = stack.getItem();
+            this.damages[slot] = stack.getItemDamage();
         }
     }
 }
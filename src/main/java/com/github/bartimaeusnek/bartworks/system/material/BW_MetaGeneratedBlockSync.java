@@ -0,0 +1,94 @@
+package com.github.bartimaeusnek.bartworks.system.material;
+
+import static com.github.bartimaeusnek.bartworks.MainMod.BW_Network_instance;
+
+import java.lang.ref.WeakReference;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import net.minecraftforge.event.world.ChunkWatchEvent;
+
+import com.github.bartimaeusnek.bartworks.common.net.MetaBlockChunkPacket;
+import com.github.bartimaeusnek.bartworks.util.LongOpenHashSet;
+import com.github.bartimaeusnek.bartworks.util.Pair;
+
+import cpw.mods.fml.common.eventhandler.SubscribeEvent;
+import cpw.mods.fml.common.gameevent.TickEvent;
+
+/**
+ * Sends the metas of {@link BW_MetaGenerated_Block_TE}s and {@link BW_MetaGeneratedOreStorage} entries one chunk at a
+ * time.
+ * <p>
+ * A player that starts watching a chunk gets one {@link MetaBlockChunkPacket} for it, right after the chunk itself.
+ * Placing a meta block or changing its meta marks its chunk dirty, see {@link BW_MetaGenerated_Blocks#setMetaData}
+ * and {@link BW_MetaGenerated_Blocks#onBlockAdded}. Dirty chunks are sent to every player watching them once the world
+ * tick ends.
+ */
+public class BW_MetaGeneratedBlockSync {
+
+    public static final BW_MetaGeneratedBlockSync INSTANCE = new BW_MetaGeneratedBlockSync();
+
+    private final WeakHashMap<World, LongOpenHashSet> dirtyChunks = new WeakHashMap<>();
+    // received on the netty thread, applied on the client thread so rendering never sees a half written section
+    private final ConcurrentLinkedQueue<Pair<WeakReference<World>, MetaBlockChunkPacket>> received =
+            new ConcurrentLinkedQueue<>();
+
+    private BW_MetaGeneratedBlockSync() {}
+
+    void markDirty(World world, int chunkX, int chunkZ) {
+        this.dirtyChunks.computeIfAbsent(world, k -> new LongOpenHashSet())
+                .add(ChunkCoordIntPair.chunkXZ2Int(chunkX, chunkZ));
+    }
+
+    public void queue(World world, MetaBlockChunkPacket packet) {
+        this.received.add(new Pair<>(new WeakReference<>(world), packet));
+    }
+
+    // FMLCommonHandler.instance().bus()
+    @SubscribeEvent
+    public void onClientTick(TickEvent.ClientTickEvent event) {
+        if (event.phase != TickEvent.Phase.START) return;
+        for (Pair<WeakReference<World>, MetaBlockChunkPacket> next; (next = this.received.poll()) != null;) {
+            World world = next.getKey().get();
+            if (world != null) next.getValue().apply(world);
+        }
+    }
+
+    // MinecraftForge.EVENT_BUS
+    @SubscribeEvent
+    public void onChunkWatch(ChunkWatchEvent.Watch event) {
+        World world = event.player.worldObj;
+        if (!world.getChunkProvider().chunkExists(event.chunk.chunkXPos, event.chunk.chunkZPos)) return;
+        MetaBlockChunkPacket packet = MetaBlockChunkPacket
+                .of(world.getChunkFromChunkCoords(event.chunk.chunkXPos, event.chunk.chunkZPos));
+        if (packet != null) BW_Network_instance.sendToPlayer(packet, event.player);
+    }
+
+    // FMLCommonHandler.instance().bus()
+    @SubscribeEvent
+    public void onWorldTick(TickEvent.WorldTickEvent event) {
+        if (event.phase != TickEvent.Phase.END || !(event.world instanceof WorldServer world)) return;
+        LongOpenHashSet dirty = this.dirtyChunks.get(world);
+        if (dirty == null || dirty.isEmpty()) return;
+        for (long key : dirty.toArray()) {
+            int chunkX = (int) key;
+            int chunkZ = (int) (key >> 32);
+            if (!world.getChunkProvider().chunkExists(chunkX, chunkZ)) continue;
+            // most dirty chunks come from worldgen nobody watches yet, only build the packet for a watcher
+            MetaBlockChunkPacket packet = null;
+            for (Object o : world.playerEntities) {
+                if (!(o instanceof EntityPlayerMP player)
+                        || !world.getPlayerManager().isPlayerWatchingChunk(player, chunkX, chunkZ))
+                    continue;
+                if (packet == null) packet = MetaBlockChunkPacket.of(world.getChunkFromChunkCoords(chunkX, chunkZ));
+                if (packet == null) break;
+                BW_Network_instance.sendToPlayer(packet, player);
+            }
+        }
+        dirty.clear();
+    }
+}
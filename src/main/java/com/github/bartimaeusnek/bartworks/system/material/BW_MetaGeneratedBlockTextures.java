@@ -0,0 +1,54 @@
+package com.github.bartimaeusnek.bartworks.system.material;
+
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import gregtech.api.interfaces.ITexture;
+
+/**
+ * The textures of one kind of {@link BW_MetaGenerated_Block_TE}, built once per Werkstoff and shared by every block of
+ * it. The returned arrays must not be modified.
+ */
+public class BW_MetaGeneratedBlockTextures {
+
+    private final Function<Werkstoff, ITexture[]> factory;
+    private final Supplier<ITexture[]> fallbackFactory;
+    private ITexture[] fallback;
+    // indexed by Werkstoff mID
+    private volatile ITexture[][] textures = new ITexture[0][];
+
+    /**
+     * @param factory         builds the textures of a Werkstoff, may return null to use the fallback
+     * @param fallbackFactory builds the textures for metas without a Werkstoff
+     */
+    public BW_MetaGeneratedBlockTextures(Function<Werkstoff, ITexture[]> factory,
+            Supplier<ITexture[]> fallbackFactory) {
+        this.factory = factory;
+        this.fallbackFactory = fallbackFactory;
+    }
+
+    public ITexture[] get(short mID) {
+        ITexture[][] textures = this.textures;
+        if (mID >= 0 && mID < textures.length && textures[mID] != null) return textures[mID];
+
+        Werkstoff werkstoff = Werkstoff.getById(mID);
+        ITexture[] ret = werkstoff == null ? null : this.factory.apply(werkstoff);
+        if (ret == null) ret = this.getFallback();
+        if (mID >= 0) this.store(mID, ret);
+        return ret;
+    }
+
+    public ITexture[] getFallback() {
+        ITexture[] ret = this.fallback;
+        if (ret == null) this.fallback = ret = this.fallbackFactory.get();
+        return ret;
+    }
+
+    private synchronized void store(short mID, ITexture[] texture) {
+        ITexture[][] textures = this.textures;
+        if (mID >= textures.length) textures = Arrays.copyOf(textures, Math.max(mID + 1, textures.length * 2));
+        textures[mID] = texture;
+        this.textures = textures;
+    }
+}
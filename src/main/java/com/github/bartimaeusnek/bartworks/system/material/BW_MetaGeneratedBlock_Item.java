@@ -13,8 +13,6 @@
 
 package com.github.bartimaeusnek.bartworks.system.material;
 
-import static com.github.bartimaeusnek.bartworks.system.material.Werkstoff.werkstoffHashMap;
-
 import java.util.ArrayList;
 import java.util.List;
 
@@ -53,7 +51,7 @@ public class BW_MetaGeneratedBlock_Item extends BW_ItemBlocks {
         Block block = Block.getBlockFromItem(aStack.getItem());
         if (block instanceof BW_MetaGenerated_Blocks metaBlock) {
             int aMetaData = aStack.getItemDamage();
-            Werkstoff werkstoff = werkstoffHashMap.get((short) aMetaData);
+            Werkstoff werkstoff = Werkstoff.getById((short) aMetaData);
             if (werkstoff == null) werkstoff = Werkstoff.default_null_Werkstoff;
             return metaBlock.blockTypeLocalizedName.replace("%material", werkstoff.getLocalizedName());
         }
@@ -69,7 +67,7 @@ public class BW_MetaGeneratedBlock_Item extends BW_ItemBlocks {
         if (aList == null) {
             aList = new ArrayList<>();
         }
-        Werkstoff werkstoff = Werkstoff.werkstoffHashMap.get((short) aStack.getItemDamage());
+        Werkstoff werkstoff = Werkstoff.getById((short) aStack.getItemDamage());
         if (werkstoff != null) {
             String tooltip = werkstoff.getLocalizedToolTip();
             if (!tooltip.isEmpty()) {
@@ -95,8 +93,7 @@ public class BW_MetaGeneratedBlock_Item extends BW_ItemBlocks {
             if (!aWorld.setBlock(aX, aY, aZ, this.field_150939_a, tDamage, 3)) {
                 return false;
             }
-            BW_MetaGenerated_Block_TE tTileEntity = (BW_MetaGenerated_Block_TE) aWorld.getTileEntity(aX, aY, aZ);
-            tTileEntity.mMetaData = tDamage;
+            ((BW_MetaGenerated_Blocks) this.field_150939_a).setMetaData(aWorld, aX, aY, aZ, tDamage);
         } else if (!aWorld.setBlock(aX, aY, aZ, this.field_150939_a, 0, 3)) return false;
         if (aWorld.getBlock(aX, aY, aZ) == this.field_150939_a) {
             this.field_150939_a.onBlockPlacedBy(aWorld, aX, aY, aZ, aPlayer, aStack);
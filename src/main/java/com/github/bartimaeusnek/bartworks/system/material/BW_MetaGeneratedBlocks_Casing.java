@@ -14,7 +14,6 @@
 package com.github.bartimaeusnek.bartworks.system.material;
 
 import java.util.List;
-import java.util.Optional;
 
 import net.minecraft.block.Block;
 import net.minecraft.block.material.Material;
@@ -112,7 +111,6 @@ public class BW_MetaGeneratedBlocks_Casing extends BW_MetaGenerated_Blocks
             Thread.sleep(1);
             // Fucking Minecraft TE settings.
         } catch (InterruptedException ignored) {}
-        Optional.ofNullable(world.getTileEntity(x, y, z)).filter(te -> te instanceof BW_MetaGenerated_Block_TE)
-                .map(te -> (BW_MetaGenerated_Block_TE) te).ifPresent(te -> te.mMetaData = (short) meta);
+        this.setMetaData(world, x, y, z, (short) meta);
     }
 }
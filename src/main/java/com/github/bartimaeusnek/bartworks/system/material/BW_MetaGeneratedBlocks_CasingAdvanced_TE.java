@@ -32,20 +32,20 @@ public class BW_MetaGeneratedBlocks_CasingAdvanced_TE extends BW_MetaGenerated_B
         return WerkstoffLoader.BWBlockCasingsAdvanced;
     }
 
+    private static final BW_MetaGeneratedBlockTextures TEXTURES = new BW_MetaGeneratedBlockTextures(aMaterial -> {
+        TextureSet set = aMaterial.getTexSet();
+        ITexture aIconSet = TextureFactory.of(
+                PrefixTextureLinker.texMapBlocks.get(OrePrefixes.blockCasingAdvanced)
+                        .getOrDefault(set, TextureSet.SET_NONE.mTextures[OrePrefixes.block.mTextureIndex]),
+                aMaterial.getRGBA());
+        return new ITexture[] { TextureFactory.of(Blocks.iron_block), aIconSet };
+    },
+            () -> new ITexture[] { TextureFactory.of(Blocks.iron_block), TextureFactory
+                    .of(gregtech.api.enums.TextureSet.SET_NONE.mTextures[OrePrefixes.block.mTextureIndex]) });
+
     @Override
     public ITexture[] getTexture(Block aBlock, ForgeDirection side) {
-        if (SideReference.Side.Client) {
-            Werkstoff aMaterial = Werkstoff.werkstoffHashMap.get(this.mMetaData);
-            if (aMaterial != null) {
-                TextureSet set = aMaterial.getTexSet();
-                ITexture aIconSet = TextureFactory.of(
-                        PrefixTextureLinker.texMapBlocks.get(OrePrefixes.blockCasingAdvanced)
-                                .getOrDefault(set, TextureSet.SET_NONE.mTextures[OrePrefixes.block.mTextureIndex]),
-                        aMaterial.getRGBA());
-                return new ITexture[] { TextureFactory.of(Blocks.iron_block), aIconSet };
-            }
-        }
-        return new ITexture[] { TextureFactory.of(Blocks.iron_block),
-                TextureFactory.of(gregtech.api.enums.TextureSet.SET_NONE.mTextures[OrePrefixes.block.mTextureIndex]) };
+        if (SideReference.Side.Client) return BW_MetaGeneratedBlocks_CasingAdvanced_TE.TEXTURES.get(this.mMetaData);
+        return BW_MetaGeneratedBlocks_CasingAdvanced_TE.TEXTURES.getFallback();
     }
 }
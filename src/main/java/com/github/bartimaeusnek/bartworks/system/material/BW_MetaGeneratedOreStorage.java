@@ -0,0 +1,259 @@
+package com.github.bartimaeusnek.bartworks.system.material;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.WeakHashMap;
+
+import net.minecraft.block.Block;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.world.IBlockAccess;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.common.util.Constants;
+import net.minecraftforge.event.world.ChunkDataEvent;
+
+import com.github.bartimaeusnek.bartworks.common.configs.ConfigHandler;
+
+import cpw.mods.fml.common.eventhandler.SubscribeEvent;
+
+/**
+ * Keeps the metas of BW ores that have no TileEntity, see {@link ConfigHandler#tileEntityFreeOres}. Every 16x16x16
+ * section of a chunk with such an ore in it has a palette of the metas used in it and one palette index per block,
+ * saved with the chunk. Ore TileEntities of a loading chunk are moved into it, and moved back out of it if the mode is
+ * disabled again.
+ * <p>
+ * Clients have no chunk NBT, they get the metas through the
+ * {@link com.github.bartimaeusnek.bartworks.common.net.MetaBlockChunkPacket}. Sections are not thread safe, each side
+ * only touches them from its main thread, the client applies received packets with the next client tick.
+ */
+public class BW_MetaGeneratedOreStorage {
+
+    public static final BW_MetaGeneratedOreStorage INSTANCE = new BW_MetaGeneratedOreStorage();
+
+    private static final String NBT_KEY = "BartWorksOres";
+    // as registered in WerkstoffLoader
+    private static final String ORE_TE_ID = "bw.blockoresTE";
+    private static final String SMALL_ORE_TE_ID = "bw.blockoresSmallTE";
+
+    // each side only touches its own chunks, the data goes away together with the chunk
+    private final WeakHashMap<Chunk, Section[]> serverChunks = new WeakHashMap<>();
+    private final WeakHashMap<Chunk, Section[]> clientChunks = new WeakHashMap<>();
+    // client render code only has a ChunkCache
+    private WeakReference<World> clientWorld = new WeakReference<>(null);
+
+    public interface Visitor {
+
+        /**
+         * @param x chunk relative
+         * @param z chunk relative
+         */
+        void accept(int x, int y, int z, short meta);
+    }
+
+    private static final class Section {
+
+        // index 0 means no ore
+        private short[] palette = new short[4];
+        private int paletteSize = 1;
+        private char[] indices = new char[4096];
+        private int count;
+
+        private static int index(int x, int y, int z) {
+            return (y & 15) << 8 | (z & 15) << 4 | x & 15;
+        }
+
+        short get(int index) {
+            return this.palette[this.indices[index]];
+        }
+
+        void set(int index, short meta) {
+            int paletteIndex = this.paletteIndexOf(meta);
+            if (this.indices[index] == 0) this.count++;
+            this.indices[index] = (char) paletteIndex;
+        }
+
+        void remove(int index) {
+            if (this.indices[index] == 0) return;
+            this.indices[index] = 0;
+            this.count--;
+        }
+
+        private int paletteIndexOf(short meta) {
+            for (int i = 1; i < this.paletteSize; i++) if (this.palette[i] == meta) return i;
+            if (this.paletteSize == this.palette.length) {
+                this.compact();
+                if (this.paletteSize == this.palette.length)
+                    this.palette = Arrays.copyOf(this.palette, this.palette.length * 2);
+            }
+            this.palette[this.paletteSize] = meta;
+            return this.paletteSize++;
+        }
+
+        // drops palette entries no block uses anymore
+        private void compact() {
+            char[] remap = new char[this.paletteSize];
+            for (char index : this.indices) remap[index] = 1;
+            remap[0] = 0;
+            int size = 1;
+            for (int i = 1; i < this.paletteSize; i++) {
+                if (remap[i] == 0) continue;
+                this.palette[size] = this.palette[i];
+                remap[i] = (char) size++;
+            }
+            for (int i = 0; i < this.indices.length; i++) this.indices[i] = remap[this.indices[i]];
+            this.paletteSize = size;
+        }
+
+        NBTTagCompound write(int y) {
+            this.compact();
+            NBTTagCompound tag = new NBTTagCompound();
+            tag.setByte("Y", (byte) y);
+            int[] palette = new int[this.paletteSize - 1];
+            for (int i = 0; i < palette.length; i++) palette[i] = this.palette[i + 1];
+            tag.setIntArray("Palette", palette);
+            boolean wide = this.paletteSize > 256;
+            byte[] indices = new byte[wide ? 8192 : 4096];
+            for (int i = 0; i < 4096; i++) {
+                if (wide) {
+                    indices[i << 1] = (byte) (this.indices[i] >> 8);
+                    indices[i << 1 | 1] = (byte) this.indices[i];
+                } else indices[i] = (byte) this.indices[i];
+            }
+            tag.setByteArray("Indices", indices);
+            return tag;
+        }
+
+        static Section read(NBTTagCompound tag) {
+            int[] palette = tag.getIntArray("Palette");
+            byte[] indices = tag.getByteArray("Indices");
+            boolean wide = indices.length == 8192;
+            if (!wide && indices.length != 4096) return null;
+            Section ret = new Section();
+            ret.palette = new short[Math.max(4, palette.length + 1)];
+            for (int i = 0; i < palette.length; i++) ret.palette[i + 1] = (short) palette[i];
+            ret.paletteSize = palette.length + 1;
+            for (int i = 0; i < 4096; i++) {
+                int index = wide ? (indices[i << 1] & 0xFF) << 8 | indices[i << 1 | 1] & 0xFF : indices[i] & 0xFF;
+                if (index == 0 || index >= ret.paletteSize) continue;
+                ret.indices[i] = (char) index;
+                ret.count++;
+            }
+            return ret.count == 0 ? null : ret;
+        }
+    }
+
+    private BW_MetaGeneratedOreStorage() {}
+
+    private WeakHashMap<Chunk, Section[]> getChunks(World world) {
+        if (!world.isRemote) return this.serverChunks;
+        if (this.clientWorld.get() != world) this.clientWorld = new WeakReference<>(world);
+        return this.clientChunks;
+    }
+
+    private Chunk getLoadedChunk(World world, int x, int z) {
+        if (!world.getChunkProvider().chunkExists(x >> 4, z >> 4)) return null;
+        return world.getChunkFromChunkCoords(x >> 4, z >> 4);
+    }
+
+    /**
+     * @return the meta of the ore or 0 if there is none
+     */
+    public short get(IBlockAccess access, int x, int y, int z) {
+        World world = access instanceof World w ? w : this.clientWorld.get();
+        if (world == null || y < 0 || y > 255) return 0;
+        Chunk chunk = this.getLoadedChunk(world, x, z);
+        Section[] sections = chunk == null ? null : this.getChunks(world).get(chunk);
+        Section section = sections == null ? null : sections[y >> 4];
+        return section == null ? 0 : section.get(Section.index(x, y, z));
+    }
+
+    public void set(World world, int x, int y, int z, short meta) {
+        Chunk chunk = this.getLoadedChunk(world, x, z);
+        if (chunk == null || y < 0 || y > 255) return;
+        Section[] sections = this.getChunks(world).computeIfAbsent(chunk, k -> new Section[16]);
+        if (sections[y >> 4] == null) sections[y >> 4] = new Section();
+        sections[y >> 4].set(Section.index(x, y, z), meta);
+        chunk.setChunkModified();
+    }
+
+    public void remove(World world, int x, int y, int z) {
+        Chunk chunk = this.getLoadedChunk(world, x, z);
+        Section[] sections = chunk == null || y < 0 || y > 255 ? null : this.getChunks(world).get(chunk);
+        if (sections == null || sections[y >> 4] == null) return;
+        sections[y >> 4].remove(Section.index(x, y, z));
+        if (sections[y >> 4].count == 0) sections[y >> 4] = null;
+        chunk.setChunkModified();
+    }
+
+    public void forEach(Chunk chunk, Visitor visitor) {
+        Section[] sections = this.getChunks(chunk.worldObj).get(chunk);
+        if (sections == null) return;
+        for (int sectionY = 0; sectionY < sections.length; sectionY++) {
+            Section section = sections[sectionY];
+            if (section == null) continue;
+            for (int i = 0; i < 4096; i++) {
+                if (section.indices[i] != 0)
+                    visitor.accept(i & 15, sectionY << 4 | i >> 8, i >> 4 & 15, section.get(i));
+            }
+        }
+    }
+
+    // MinecraftForge.EVENT_BUS
+    @SubscribeEvent
+    public void onChunkLoad(ChunkDataEvent.Load event) {
+        Chunk chunk = event.getChunk();
+        NBTTagCompound level = event.getData().getCompoundTag("Level");
+        NBTTagList list = level.getTagList(NBT_KEY, Constants.NBT.TAG_COMPOUND);
+        Section[] sections = null;
+        for (int i = 0; i < list.tagCount(); i++) {
+            NBTTagCompound tag = list.getCompoundTagAt(i);
+            Section section = Section.read(tag);
+            if (section == null) continue;
+            if (sections == null) sections = new Section[16];
+            sections[tag.getByte("Y") & 15] = section;
+        }
+
+        if (ConfigHandler.tileEntityFreeOres) {
+            // the chunk already dropped these TileEntities, as the ores do not want one anymore
+            NBTTagList tileEntities = level.getTagList("TileEntities", Constants.NBT.TAG_COMPOUND);
+            for (int i = 0; i < tileEntities.tagCount(); i++) {
+                NBTTagCompound tag = tileEntities.getCompoundTagAt(i);
+                String id = tag.getString("id");
+                if (!ORE_TE_ID.equals(id) && !SMALL_ORE_TE_ID.equals(id)) continue;
+                int x = tag.getInteger("x") & 15, y = tag.getInteger("y"), z = tag.getInteger("z") & 15;
+                if (y < 0 || y > 255 || !(chunk.getBlock(x, y, z) instanceof BW_MetaGenerated_Ores)) continue;
+                if (sections == null) sections = new Section[16];
+                if (sections[y >> 4] == null) sections[y >> 4] = new Section();
+                sections[y >> 4].set(Section.index(x, y, z), tag.getShort("m"));
+                chunk.setChunkModified();
+            }
+            if (sections != null) this.serverChunks.put(chunk, sections);
+        } else if (sections != null) {
+            this.serverChunks.put(chunk, sections);
+            this.forEach(chunk, (x, y, z, meta) -> {
+                Block block = chunk.getBlock(x, y, z);
+                if (!(block instanceof BW_MetaGenerated_Ores)) return;
+                TileEntity te = block.createTileEntity(chunk.worldObj, chunk.getBlockMetadata(x, y, z));
+                if (!(te instanceof BW_MetaGenerated_Block_TE metaTE)) return;
+                metaTE.mMetaData = meta;
+                chunk.func_150812_a(x, y, z, te);
+            });
+            this.serverChunks.remove(chunk);
+            chunk.setChunkModified();
+        }
+    }
+
+    // MinecraftForge.EVENT_BUS
+    @SubscribeEvent
+    public void onChunkSave(ChunkDataEvent.Save event) {
+        Section[] sections = this.serverChunks.get(event.getChunk());
+        if (sections == null) return;
+        NBTTagList list = new NBTTagList();
+        for (int y = 0; y < sections.length; y++) {
+            if (sections[y] != null) list.appendTag(sections[y].write(y));
+        }
+        if (list.tagCount() > 0) event.getData().getCompoundTag("Level").setTag(NBT_KEY, list);
+    }
+}
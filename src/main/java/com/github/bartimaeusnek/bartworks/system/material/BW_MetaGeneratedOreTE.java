@@ -23,16 +23,15 @@ import gregtech.api.render.TextureFactory;
 
 public class BW_MetaGeneratedOreTE extends BW_MetaGenerated_Block_TE {
 
+    private static final BW_MetaGeneratedBlockTextures TEXTURES = new BW_MetaGeneratedBlockTextures(
+            aMaterial -> new ITexture[] { TextureFactory.of(Blocks.stone), TextureFactory
+                    .of(aMaterial.getTexSet().mTextures[OrePrefixes.ore.mTextureIndex], aMaterial.getRGBA()) },
+            () -> new ITexture[] { TextureFactory.of(Blocks.stone), TextureFactory
+                    .of(gregtech.api.enums.TextureSet.SET_NONE.mTextures[OrePrefixes.ore.mTextureIndex]) });
+
     @Override
     public ITexture[] getTexture(Block aBlock, ForgeDirection side) {
-        Werkstoff aMaterial = Werkstoff.werkstoffHashMap.get(this.mMetaData);
-        if (aMaterial != null) {
-            ITexture aIconSet = TextureFactory
-                    .of(aMaterial.getTexSet().mTextures[OrePrefixes.ore.mTextureIndex], aMaterial.getRGBA());
-            return new ITexture[] { TextureFactory.of(Blocks.stone), aIconSet };
-        }
-        return new ITexture[] { TextureFactory.of(Blocks.stone),
-                TextureFactory.of(gregtech.api.enums.TextureSet.SET_NONE.mTextures[OrePrefixes.ore.mTextureIndex]) };
+        return BW_MetaGeneratedOreTE.TEXTURES.get(this.mMetaData);
     }
 
     @Override
@@ -34,7 +34,7 @@ public class BW_MetaGeneratedSmallOreTE extends BW_MetaGeneratedOreTE {
     @Override
     public ArrayList<ItemStack> getDrops(int aFortune) {
         ArrayList<ItemStack> rList = new ArrayList<>();
-        Materials aMaterial = Werkstoff.werkstoffHashMap.get(this.mMetaData).getBridgeMaterial();
+        Materials aMaterial = Werkstoff.getById(this.mMetaData).getBridgeMaterial();
 
         if (aMaterial != null) {
             Random tRandom = new XSTR(this.xCoord ^ this.yCoord ^ this.zCoord);
@@ -116,16 +116,15 @@ public class BW_MetaGeneratedSmallOreTE extends BW_MetaGeneratedOreTE {
         return rList;
     }
 
+    private static final BW_MetaGeneratedBlockTextures TEXTURES = new BW_MetaGeneratedBlockTextures(
+            aMaterial -> new ITexture[] { TextureFactory.of(Blocks.stone), TextureFactory
+                    .of(aMaterial.getTexSet().mTextures[OrePrefixes.oreSmall.mTextureIndex], aMaterial.getRGBA()) },
+            () -> new ITexture[] { TextureFactory.of(Blocks.stone), TextureFactory
+                    .of(gregtech.api.enums.TextureSet.SET_NONE.mTextures[OrePrefixes.oreSmall.mTextureIndex]) });
+
     @Override
     public ITexture[] getTexture(Block aBlock, ForgeDirection side) {
-        Werkstoff aMaterial = Werkstoff.werkstoffHashMap.get(this.mMetaData);
-        if (aMaterial != null) {
-            ITexture aIconSet = TextureFactory
-                    .of(aMaterial.getTexSet().mTextures[OrePrefixes.oreSmall.mTextureIndex], aMaterial.getRGBA());
-            return new ITexture[] { TextureFactory.of(Blocks.stone), aIconSet };
-        }
-        return new ITexture[] { TextureFactory.of(Blocks.stone), TextureFactory
-                .of(gregtech.api.enums.TextureSet.SET_NONE.mTextures[OrePrefixes.oreSmall.mTextureIndex]) };
+        return BW_MetaGeneratedSmallOreTE.TEXTURES.get(this.mMetaData);
     }
 
     @Override
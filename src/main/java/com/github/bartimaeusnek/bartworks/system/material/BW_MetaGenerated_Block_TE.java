@@ -13,8 +13,6 @@
 
 package com.github.bartimaeusnek.bartworks.system.material;
 
-import static com.github.bartimaeusnek.bartworks.MainMod.BW_Network_instance;
-
 import java.util.ArrayList;
 
 import net.minecraft.block.Block;
@@ -24,8 +22,6 @@ import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.network.Packet;
 import net.minecraft.tileentity.TileEntity;
 
-import com.github.bartimaeusnek.bartworks.common.net.MetaBlockPacket;
-
 import gregtech.api.interfaces.tileentity.ITexturedTileEntity;
 
 public abstract class BW_MetaGenerated_Block_TE extends TileEntity implements ITexturedTileEntity {
@@ -49,13 +45,9 @@ public abstract class BW_MetaGenerated_Block_TE extends TileEntity implements IT
         super.writeToNBT(aNBT);
     }
 
+    // the meta comes with the chunk, see BW_MetaGeneratedBlockSync
     @Override
     public Packet getDescriptionPacket() {
-        if (!this.worldObj.isRemote) BW_Network_instance.sendPacketToAllPlayersInRange(
-                this.worldObj,
-                new MetaBlockPacket(this.xCoord, (short) this.yCoord, this.zCoord, this.mMetaData),
-                this.xCoord,
-                this.zCoord);
         return null;
     }
 
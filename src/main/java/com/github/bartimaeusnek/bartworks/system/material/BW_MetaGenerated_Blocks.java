@@ -22,6 +22,7 @@ import net.minecraft.block.ITileEntityProvider;
 import net.minecraft.block.material.Material;
 import net.minecraft.item.ItemStack;
 import net.minecraft.tileentity.TileEntity;
+import net.minecraft.world.IBlockAccess;
 import net.minecraft.world.World;
 
 import com.github.bartimaeusnek.bartworks.client.renderer.BW_Renderer_Block_Ores;
@@ -62,6 +63,7 @@ public abstract class BW_MetaGenerated_Blocks extends BW_TileEntityContainer {
     @Override
     public void onBlockAdded(World aWorld, int aX, int aY, int aZ) {
         super.onBlockAdded(aWorld, aX, aY, aZ);
+        if (!aWorld.isRemote) BW_MetaGeneratedBlockSync.INSTANCE.markDirty(aWorld, aX >> 4, aZ >> 4);
         // Waste some time to allow the TE to be set, do not use thread sleep here, it doesnt allow for nanoseconds.
         // This will just waste a few cpu cycles to allow the TE to be set
         BW_Util.shortSleep(0);
@@ -74,6 +76,47 @@ public abstract class BW_MetaGenerated_Blocks extends BW_TileEntityContainer {
 
     protected abstract void doRegistrationStuff(Werkstoff w);
 
+    /**
+     * @return true if the metas of this block live in the {@link BW_MetaGeneratedOreStorage} instead of TileEntities
+     */
+    protected boolean usesOreStorage() {
+        return false;
+    }
+
+    public short getMetaData(IBlockAccess aWorld, int aX, int aY, int aZ) {
+        if (this.usesOreStorage()) return BW_MetaGeneratedOreStorage.INSTANCE.get(aWorld, aX, aY, aZ);
+        TileEntity tTileEntity = aWorld.getTileEntity(aX, aY, aZ);
+        if (tTileEntity instanceof BW_MetaGenerated_Block_TE metaTE) {
+            return metaTE.mMetaData;
+        }
+        return 0;
+    }
+
+    /**
+     * Sets the meta of a block of this type that is already placed.
+     */
+    public void setMetaData(World aWorld, int aX, int aY, int aZ, short aMetaData) {
+        if (!aWorld.isRemote) BW_MetaGeneratedBlockSync.INSTANCE.markDirty(aWorld, aX >> 4, aZ >> 4);
+        if (this.usesOreStorage()) {
+            BW_MetaGeneratedOreStorage.INSTANCE.set(aWorld, aX, aY, aZ, aMetaData);
+            return;
+        }
+        TileEntity tTileEntity = aWorld.getTileEntity(aX, aY, aZ);
+        if (tTileEntity instanceof BW_MetaGenerated_Block_TE metaTE) {
+            metaTE.mMetaData = aMetaData;
+        }
+    }
+
+    // stands in for the TileEntity when something needs its drops
+    private BW_MetaGenerated_Block_TE getDetachedTileEntity(World aWorld, int aX, int aY, int aZ) {
+        BW_MetaGenerated_Block_TE ret = (BW_MetaGenerated_Block_TE) this.createNewTileEntity(aWorld, 0);
+        ret.xCoord = aX;
+        ret.yCoord = aY;
+        ret.zCoord = aZ;
+        ret.mMetaData = this.getMetaData(aWorld, aX, aY, aZ);
+        return ret;
+    }
+
     @Override
     public String getHarvestTool(int metadata) {
         return "pickaxe";
@@ -92,11 +135,7 @@ public abstract class BW_MetaGenerated_Blocks extends BW_TileEntityContainer {
 
     @Override
     public int getDamageValue(World aWorld, int aX, int aY, int aZ) {
-        TileEntity tTileEntity = aWorld.getTileEntity(aX, aY, aZ);
-        if (tTileEntity instanceof BW_MetaGenerated_Block_TE metaTE) {
-            return metaTE.mMetaData;
-        }
-        return 0;
+        return this.getMetaData(aWorld, aX, aY, aZ);
     }
 
     @Override
@@ -106,20 +145,36 @@ public abstract class BW_MetaGenerated_Blocks extends BW_TileEntityContainer {
 
     @Override
     public boolean hasTileEntity(int metadata) {
-        return true;
+        return !this.usesOreStorage();
+    }
+
+    /**
+     * Pistons only refuse blocks with a TileEntity, moving an ore would leave its meta behind in the
+     * {@link BW_MetaGeneratedOreStorage}.
+     */
+    @Override
+    public int getMobilityFlag() {
+        return this.usesOreStorage() ? 2 : super.getMobilityFlag();
     }
 
     @Override
     public void breakBlock(World world, int x, int y, int z, Block block, int meta) {
-        TileEntity tTileEntity = world.getTileEntity(x, y, z);
-        if (tTileEntity instanceof BW_MetaGenerated_Block_TE metaTE) {
-            mTemporaryTileEntity.set(metaTE);
+        if (this.usesOreStorage()) {
+            mTemporaryTileEntity.set(this.getDetachedTileEntity(world, x, y, z));
+            BW_MetaGeneratedOreStorage.INSTANCE.remove(world, x, y, z);
+        } else {
+            TileEntity tTileEntity = world.getTileEntity(x, y, z);
+            if (tTileEntity instanceof BW_MetaGenerated_Block_TE metaTE) {
+                mTemporaryTileEntity.set(metaTE);
+            }
         }
         super.breakBlock(world, x, y, z, block, meta);
     }
 
     @Override
     public ArrayList<ItemStack> getDrops(World aWorld, int aX, int aY, int aZ, int aMeta, int aFortune) {
+        if (this.usesOreStorage() && aWorld.getBlock(aX, aY, aZ) == this)
+            return this.getDetachedTileEntity(aWorld, aX, aY, aZ).getDrops(aFortune);
         TileEntity tTileEntity = aWorld.getTileEntity(aX, aY, aZ);
         if (tTileEntity instanceof BW_MetaGenerated_Block_TE metaTE) {
             return metaTE.getDrops(aFortune);
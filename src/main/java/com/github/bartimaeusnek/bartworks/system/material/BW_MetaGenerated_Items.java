@@ -13,7 +13,6 @@
 
 package com.github.bartimaeusnek.bartworks.system.material;
 
-import static com.github.bartimaeusnek.bartworks.system.material.Werkstoff.werkstoffHashMap;
 import static com.github.bartimaeusnek.bartworks.system.material.Werkstoff.werkstoffHashSet;
 
 import java.util.List;
@@ -90,7 +89,7 @@ public class BW_MetaGenerated_Items extends GT_MetaGenerated_Item implements IRa
                 || this.orePrefixes == OrePrefixes.crushed) {
             int aDamage = aItemEntity.getEntityItem().getItemDamage();
             if (aDamage >= 0 && !aItemEntity.worldObj.isRemote) {
-                Werkstoff aMaterial = werkstoffHashMap.get((short) aDamage);
+                Werkstoff aMaterial = Werkstoff.getById((short) aDamage);
                 if (aMaterial != null && aMaterial != Werkstoff.default_null_Werkstoff) {
                     int tX = MathHelper.floor_double(aItemEntity.posX);
                     int tY = MathHelper.floor_double(aItemEntity.posY);
@@ -134,7 +133,7 @@ public class BW_MetaGenerated_Items extends GT_MetaGenerated_Item implements IRa
                 && aStack.getItemDamage() == WerkstoffLoader.Tiberium.getmID())
             aList.add(GT_LanguageManager.getTranslation("metaitem.01.tooltip.nqgen"));
 
-        Werkstoff werkstoff = werkstoffHashMap.get((short) this.getDamage(aStack));
+        Werkstoff werkstoff = Werkstoff.getById((short) this.getDamage(aStack));
         if (werkstoff != null) {
             String tooltip = werkstoff.getLocalizedToolTip();
             if (!tooltip.isEmpty()) {
@@ -155,21 +154,21 @@ public class BW_MetaGenerated_Items extends GT_MetaGenerated_Item implements IRa
     @Override
     public String getItemStackDisplayName(ItemStack aStack) {
         int aMetaData = aStack.getItemDamage();
-        Werkstoff werkstoff = werkstoffHashMap.get((short) aMetaData);
+        Werkstoff werkstoff = Werkstoff.getById((short) aMetaData);
         if (werkstoff == null) werkstoff = Werkstoff.default_null_Werkstoff;
         return this.itemTypeLocalizedName.replace("%material", werkstoff.getLocalizedName());
     }
 
     @Override
     public IIconContainer getIconContainer(int aMetaData) {
-        if (werkstoffHashMap.get((short) aMetaData) == null) return null;
+        if (Werkstoff.getById((short) aMetaData) == null) return null;
         if (this.orePrefixes.mTextureIndex == -1) return this.getIconContainerBartWorks(aMetaData);
-        return werkstoffHashMap.get((short) aMetaData).getTexSet().mTextures[this.orePrefixes.mTextureIndex];
+        return Werkstoff.getById((short) aMetaData).getTexSet().mTextures[this.orePrefixes.mTextureIndex];
     }
 
     protected IIconContainer getIconContainerBartWorks(int aMetaData) {
         if (SideReference.Side.Client) return PrefixTextureLinker.texMap.get(this.orePrefixes)
-                .get(werkstoffHashMap.get((short) aMetaData).getTexSet());
+                .get(Werkstoff.getById((short) aMetaData).getTexSet());
         return null;
     }
 
@@ -187,7 +186,7 @@ public class BW_MetaGenerated_Items extends GT_MetaGenerated_Item implements IRa
 
     @Override
     public short[] getRGBa(ItemStack aStack) {
-        Werkstoff werkstoff = werkstoffHashMap.get((short) this.getDamage(aStack));
+        Werkstoff werkstoff = Werkstoff.getById((short) this.getDamage(aStack));
         return werkstoff == null ? Materials._NULL.mRGBa : werkstoff.getRGBA();
     }
 
@@ -197,7 +196,7 @@ public class BW_MetaGenerated_Items extends GT_MetaGenerated_Item implements IRa
         if (aStack == null || aStack.getItem() == null || !(aPlayer instanceof EntityLivingBase)) return;
 
         EntityLivingBase bPlayer = (EntityPlayer) aPlayer;
-        Werkstoff w = werkstoffHashMap.get((short) aStack.getItemDamage());
+        Werkstoff w = Werkstoff.getById((short) aStack.getItemDamage());
         if (w == null || w.getStats() == null) return;
 
         if (w.getStats().isToxic() && !GT_Utility.isWearingFullBioHazmat(bPlayer)) {
@@ -212,7 +211,7 @@ public class BW_MetaGenerated_Items extends GT_MetaGenerated_Item implements IRa
     @Override
     public IIcon getIconFromDamage(int aMetaData) {
         if (aMetaData < 0) return null;
-        Werkstoff tMaterial = werkstoffHashMap.get((short) aMetaData);
+        Werkstoff tMaterial = Werkstoff.getById((short) aMetaData);
         if (tMaterial == null) return null;
         IIconContainer tIcon = this.getIconContainer(aMetaData);
         if (tIcon != null) return tIcon.getIcon();
@@ -226,7 +225,7 @@ public class BW_MetaGenerated_Items extends GT_MetaGenerated_Item implements IRa
 
     @Override
     public int getRadiationLevel(ItemStack aStack) {
-        Werkstoff w = werkstoffHashMap.get((short) aStack.getItemDamage());
+        Werkstoff w = Werkstoff.getById((short) aStack.getItemDamage());
         return w.getStats().isRadioactive() ? (int) w.getStats().getProtons() : 0;
     }
 
@@ -237,13 +236,13 @@ public class BW_MetaGenerated_Items extends GT_MetaGenerated_Item implements IRa
 
     @Override
     public short[] getColorForGUI(ItemStack aStack) {
-        Werkstoff w = werkstoffHashMap.get((short) aStack.getItemDamage());
+        Werkstoff w = Werkstoff.getById((short) aStack.getItemDamage());
         return w.getRGBA();
     }
 
     @Override
     public String getNameForGUI(ItemStack aStack) {
-        Werkstoff w = werkstoffHashMap.get((short) aStack.getItemDamage());
+        Werkstoff w = Werkstoff.getById((short) aStack.getItemDamage());
         return w.getDefaultName();
     }
 
@@ -27,6 +27,7 @@ import net.minecraft.util.IIcon;
 import net.minecraft.world.IBlockAccess;
 import net.minecraft.world.World;
 
+import com.github.bartimaeusnek.bartworks.common.configs.ConfigHandler;
 import com.github.bartimaeusnek.bartworks.util.MathUtils;
 
 import gregtech.api.enums.OrePrefixes;
@@ -68,14 +69,16 @@ public class BW_MetaGenerated_Ores extends BW_MetaGenerated_Blocks {
         }
 
         aWorld.setBlock(aX, aY, aZ, tOreBlock, aMetaData, 0);
-        TileEntity tTileEntity = aWorld.getTileEntity(aX, aY, aZ);
-        if (tTileEntity instanceof BW_MetaGeneratedOreTE metaTE) {
-            metaTE.mMetaData = (short) aMetaData;
-        }
+        ((BW_MetaGenerated_Ores) tOreBlock).setMetaData(aWorld, aX, aY, aZ, (short) aMetaData);
 
         return true;
     }
 
+    @Override
+    protected boolean usesOreStorage() {
+        return ConfigHandler.tileEntityFreeOres;
+    }
+
     @Override
     public IIcon getIcon(int side, int meta) {
         return Blocks.stone.getIcon(0, 0);
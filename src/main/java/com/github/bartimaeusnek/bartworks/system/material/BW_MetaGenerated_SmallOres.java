@@ -65,10 +65,7 @@ public class BW_MetaGenerated_SmallOres extends BW_MetaGenerated_Ores {
         }
 
         aWorld.setBlock(aX, aY, aZ, tOreBlock, aMetaData, 0);
-        TileEntity tTileEntity = aWorld.getTileEntity(aX, aY, aZ);
-        if (tTileEntity instanceof BW_MetaGeneratedOreTE metaTE) {
-            metaTE.mMetaData = (short) aMetaData;
-        }
+        ((BW_MetaGenerated_SmallOres) tOreBlock).setMetaData(aWorld, aX, aY, aZ, (short) aMetaData);
 
         return true;
     }
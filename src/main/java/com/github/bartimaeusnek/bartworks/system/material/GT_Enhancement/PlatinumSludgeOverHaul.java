@@ -86,7 +86,9 @@ import static gregtech.api.util.GT_RecipeConstants.UniversalChemical;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -109,6 +111,7 @@ import com.github.bartimaeusnek.bartworks.system.material.BW_MetaGenerated_Items
 import com.github.bartimaeusnek.bartworks.system.material.Werkstoff;
 import com.github.bartimaeusnek.bartworks.util.BW_Util;
 import com.github.bartimaeusnek.bartworks.util.CachedReflectionUtils;
+import com.github.bartimaeusnek.bartworks.util.RecipeOccurrenceIndex;
 import com.github.bartimaeusnek.crossmod.BartWorksCrossmod;
 
 import cpw.mods.fml.common.registry.GameRegistry;
@@ -546,6 +549,35 @@ public class PlatinumSludgeOverHaul {
         return false;
     }
 
+    /**
+     * Looks up every recipe the gt machine pass of {@link #replacePureElements()} could change: fluid outputs of the
+     * molten platinum group metals, and item outputs that are Ru/Rh dusts or associated with Pt, Pd, Os or Ir. The
+     * association is checked once per distinct item instead of once per recipe output.
+     */
+    private static Set<GT_Recipe> getAffectedRecipes(RecipeOccurrenceIndex index) {
+        Set<GT_Recipe> ret = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (FluidStack fluid : new FluidStack[] { Ruthenium.getMolten(1), Rhodium.getMolten(1),
+                Materials.Iridium.getMolten(1), Materials.Platinum.getMolten(1), Materials.Osmium.getMolten(1) })
+            for (RecipeOccurrenceIndex.Occurrence occurrence : index.find(fluid))
+                if (occurrence.kind == RecipeOccurrenceIndex.FLUID_OUTPUT) ret.add(occurrence.recipe);
+
+        ItemStack[] dusts = { Ruthenium.get(dust), Ruthenium.get(dustImpure), Ruthenium.get(dustPure),
+                Rhodium.get(dust), Rhodium.get(dustImpure), Rhodium.get(dustPure) };
+        index.forEachItem((stack, occurrences) -> {
+            boolean matches = false;
+            for (ItemStack d : dusts) matches |= GT_Utility.areStacksEqual(d, stack, true);
+            if (!matches && BW_Util.checkStackAndPrefix(stack)) {
+                Materials material = GT_OreDictUnificator.getAssociation(stack).mMaterial.mMaterial;
+                matches = material == Materials.Platinum || material == Materials.Palladium
+                        || material == Materials.Osmium
+                        || material == Materials.Iridium;
+            }
+            if (matches) for (RecipeOccurrenceIndex.Occurrence occurrence : occurrences)
+                if (occurrence.kind == RecipeOccurrenceIndex.OUTPUT) ret.add(occurrence.recipe);
+        });
+        return ret;
+    }
+
     @SuppressWarnings({ "unchecked", "rawtypes" })
     public static void replacePureElements() {
         // furnace
@@ -584,18 +616,27 @@ public class PlatinumSludgeOverHaul {
             e.printStackTrace();
         }
         // gt machines
-        maploop: for (GT_Recipe.GT_Recipe_Map map : GT_Recipe.GT_Recipe_Map.sMappings) {
+        RecipeOccurrenceIndex index = RecipeOccurrenceIndex.get();
+        Set<GT_Recipe> affected = PlatinumSludgeOverHaul.getAffectedRecipes(index);
+        for (GT_Recipe.GT_Recipe_Map map : GT_Recipe.GT_Recipe_Map.sMappings) {
             if (map == GT_Recipe.GT_Recipe_Map.sFusionRecipes || map == GT_Recipe.GT_Recipe_Map.sUnboxinatorRecipes
                     || map == GT_Recipe.GT_Recipe_Map.sBoxinatorRecipes
                     || "gt.recipe.eyeofharmony".equals(map.mUnlocalizedName)
                     || "gtpp.recipe.quantumforcesmelter".equals(map.mUnlocalizedName))
                 continue;
             HashSet<GT_Recipe> toDel = new HashSet<>();
+            List<GT_Recipe> touched = new ArrayList<>();
             recipeloop: for (GT_Recipe recipe : map.mRecipeList) {
-                if (recipe.mFakeRecipe) continue maploop;
+                // the rest of a map holding fake recipes or fluid extraction is left alone, without any removal
+                if (recipe.mFakeRecipe || recipe.mFluidOutputs.length > 0
+                        && map.equals(GT_Recipe.GT_Recipe_Map.sFluidExtractionRecipes)) {
+                    toDel.clear();
+                    break;
+                }
+                if (!affected.contains(recipe)) continue;
+                touched.add(recipe);
 
                 for (int i = 0; i < recipe.mFluidOutputs.length; i++) {
-                    if (map.equals(GT_Recipe.GT_Recipe_Map.sFluidExtractionRecipes)) continue maploop;
                     if (map.equals(GT_Recipe.GT_Recipe_Map.sMultiblockChemicalRecipes)
                             || map.equals(GT_Recipe.GT_Recipe_Map.sChemicalRecipes)) {
                         if (GT_Utility.areFluidsEqual(Ruthenium.getMolten(1), recipe.mFluidOutputs[i])
@@ -752,7 +793,8 @@ public class PlatinumSludgeOverHaul {
                                     }
                 }
             }
-            map.mRecipeList.removeAll(toDel);
+            for (GT_Recipe recipe : touched) index.update(map, recipe);
+            index.remove(map, toDel);
         }
         // TODO: remove EnderIO recipes
 
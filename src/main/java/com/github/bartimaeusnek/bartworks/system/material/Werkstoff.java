@@ -47,6 +47,7 @@ import com.github.bartimaeusnek.crossmod.BartWorksCrossmod;
 import com.github.bartimaeusnek.crossmod.tgregworks.MaterialsInjector;
 import com.github.bartimaeusnek.crossmod.thaumcraft.util.ThaumcraftHandler;
 
+import cpw.mods.fml.common.FMLCommonHandler;
 import cpw.mods.fml.common.Loader;
 import gregtech.api.GregTech_API;
 import gregtech.api.enums.FluidState;
@@ -65,6 +66,8 @@ public class Werkstoff implements IColorModulationContainer, ISubTagContainer {
     public static final LinkedHashSet<Werkstoff> werkstoffHashSet = new LinkedHashSet<>();
     public static final LinkedHashMap<Short, Werkstoff> werkstoffHashMap = new LinkedHashMap<>();
     public static final LinkedHashMap<String, Werkstoff> werkstoffNameHashMap = new LinkedHashMap<>();
+    // werkstoffHashMap as an array indexed by mID, for lookups in render code
+    private static Werkstoff[] werkstoffByID = new Werkstoff[0];
 
     public static final Map<String, String> modNameOverrides = new HashMap<>() {
 
@@ -89,9 +92,11 @@ public class Werkstoff implements IColorModulationContainer, ISubTagContainer {
     private final List<ISubTagContainer> mOreByProducts = new ArrayList<>();
     private final LinkedHashSet<Pair<ISubTagContainer, Integer>> CONTENTS = new LinkedHashSet<>();
     private final HashSet<SubTag> SUBTAGS = new HashSet<>();
-    private byte[] rgb = new byte[3];
+    // shared like Materials.mRGBa
+    private short[] rgba = new short[4];
     private final String defaultName;
     private String toolTip;
+    private volatile Localization localization;
 
     private Werkstoff.Stats stats;
     private final Werkstoff.Types type;
@@ -374,11 +379,25 @@ public class Werkstoff implements IColorModulationContainer, ISubTagContainer {
 
         Werkstoff.werkstoffHashSet.add(this);
         Werkstoff.werkstoffHashMap.put(this.mID, this);
+        if (this.mID >= 0) {
+            if (this.mID >= Werkstoff.werkstoffByID.length) Werkstoff.werkstoffByID = Arrays
+                    .copyOf(Werkstoff.werkstoffByID, Math.max(this.mID + 1, Werkstoff.werkstoffByID.length * 2));
+            Werkstoff.werkstoffByID[this.mID] = this;
+        }
         Werkstoff.werkstoffNameHashMap.put(this.defaultName, this);
 
         this.owner = this.getMaterialOwner();
     }
 
+    /**
+     * Same as {@code werkstoffHashMap.get(mID)}, without boxing the ID. Use this in item, block and render code.
+     */
+    public static Werkstoff getById(int mID) {
+        Werkstoff[] byID = Werkstoff.werkstoffByID;
+        if (mID >= 0) return mID < byID.length ? byID[mID] : null;
+        return mID >= Short.MIN_VALUE ? Werkstoff.werkstoffHashMap.get((short) mID) : null;
+    }
+
     private static String getFormula(Materials material) {
         return material.mChemicalFormula.isEmpty() ? "?" : material.mChemicalFormula;
     }
@@ -498,10 +517,11 @@ public class Werkstoff implements IColorModulationContainer, ISubTagContainer {
     }
 
     public String getLocalizedName() {
-        return GT_LanguageManager.addStringLocalization(
+        if (!GregTech_API.sPostloadFinished) return GT_LanguageManager.addStringLocalization(
                 String.format("bw.werkstoff.%05d.name", this.mID),
                 this.defaultName,
-                !GregTech_API.sPostloadFinished);
+                true);
+        return this.getLocalization().name;
     }
 
     public String getVarName() {
@@ -513,10 +533,44 @@ public class Werkstoff implements IColorModulationContainer, ISubTagContainer {
     }
 
     public String getLocalizedToolTip() {
-        return GT_LanguageManager.addStringLocalization(
+        if (!GregTech_API.sPostloadFinished) return GT_LanguageManager.addStringLocalization(
                 String.format("bw.werkstoff.%05d.tooltip", this.mID),
                 this.toolTip,
-                !GregTech_API.sPostloadFinished);
+                true);
+        return this.getLocalization().toolTip;
+    }
+
+    private static final class Localization {
+
+        private final String language;
+        private final String name;
+        private final String toolTip;
+
+        private Localization(String language, String name, String toolTip) {
+            this.language = language;
+            this.name = name;
+            this.toolTip = toolTip;
+        }
+    }
+
+    // the lang file is complete after postload, so the translations only change together with the language
+    private Localization getLocalization() {
+        String language = FMLCommonHandler.instance().getCurrentLanguage();
+        Localization ret = this.localization;
+        if (ret == null || !ret.language.equals(language)) {
+            ret = new Localization(
+                    language,
+                    GT_LanguageManager.addStringLocalization(
+                            String.format("bw.werkstoff.%05d.name", this.mID),
+                            this.defaultName,
+                            false),
+                    GT_LanguageManager.addStringLocalization(
+                            String.format("bw.werkstoff.%05d.tooltip", this.mID),
+                            this.toolTip,
+                            false));
+            this.localization = ret;
+        }
+        return ret;
     }
 
     public Werkstoff.Stats getStats() {
@@ -540,12 +594,15 @@ public class Werkstoff implements IColorModulationContainer, ISubTagContainer {
     }
 
     public void setRgb(short[] rgb) {
-        this.rgb = new byte[] { (byte) (rgb[0] - 128), (byte) (rgb[1] - 128), (byte) (rgb[2] - 128) };
+        this.rgba = new short[] { rgb[0], rgb[1], rgb[2], 0 };
     }
 
+    /**
+     * @return the colour of this Werkstoff, the array is shared and must not be modified
+     */
     @Override
     public short[] getRGBA() {
-        return new short[] { (short) (this.rgb[0] + 128), (short) (this.rgb[1] + 128), (short) (this.rgb[2] + 128), 0 };
+        return this.rgba;
     }
 
     @Override
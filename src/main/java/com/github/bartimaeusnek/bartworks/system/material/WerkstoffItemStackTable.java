@@ -0,0 +1,141 @@
+package com.github.bartimaeusnek.bartworks.system.material;
+
+import static gregtech.api.enums.OrePrefixes.block;
+import static gregtech.api.enums.OrePrefixes.ore;
+import static gregtech.api.enums.OrePrefixes.oreSmall;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.oredict.OreDictionary;
+
+import com.github.bartimaeusnek.bartworks.system.oredict.OreDictHandler;
+
+import cpw.mods.fml.common.eventhandler.SubscribeEvent;
+import gregtech.api.enums.OrePrefixes;
+import gregtech.api.util.GT_OreDictUnificator;
+import gregtech.api.util.GT_Utility;
+
+/**
+ * Dense Werkstoff mID x OrePrefixes ordinal table behind
+ * {@link WerkstoffLoader#getCorrespondingItemStackUnsafe(OrePrefixes, Werkstoff, int)}. Every found stack is resolved
+ * once and then handed out as a copy, misses are not stored. A new OreDict entry only drops the cells of the Werkstoffe
+ * whose name it ends with, see {@link #onOreRegister}. Code calling GT_OreDictUnificator.set directly has to call
+ * {@link #invalidate()} afterwards.
+ * <p>
+ * Cells are immutable and written under the class lock, so they can be read from any thread without it.
+ */
+public class WerkstoffItemStackTable {
+
+    public static final WerkstoffItemStackTable INSTANCE = new WerkstoffItemStackTable();
+
+    private static final int PREFIX_COUNT = OrePrefixes.values().length;
+    private static final Map<String, OrePrefixes> PREFIXES_BY_NAME = new HashMap<>();
+
+    static {
+        for (OrePrefixes prefix : OrePrefixes.values()) PREFIXES_BY_NAME.put(prefix.name(), prefix);
+    }
+
+    // indexed by mID, then by OrePrefixes ordinal
+    private static volatile Cell[][] table = new Cell[0][];
+    // bumped by every invalidation, a cell that was resolved across one is not stored
+    private static volatile int epoch;
+    // OreDict material name -> Werkstoffe with stored cells, to find the cells a new OreDict entry touches
+    private static final Map<String, Set<Werkstoff>> byMaterialName = new HashMap<>();
+
+    private static final class Cell {
+
+        private final ItemStack stack;
+        // GT_OreDictUnificator.get hands out its stacks via GT_Utility.copyAmount, keep doing so
+        private final boolean gtUnified;
+
+        private Cell(ItemStack stack, boolean gtUnified) {
+            this.stack = stack;
+            this.gtUnified = gtUnified;
+        }
+    }
+
+    private WerkstoffItemStackTable() {}
+
+    public static ItemStack get(OrePrefixes orePrefixes, Werkstoff werkstoff, int amount) {
+        short mID = werkstoff.getmID();
+        int ordinal = orePrefixes.ordinal();
+        Cell[][] rows = table;
+        Cell[] row = mID >= 0 && mID < rows.length ? rows[mID] : null;
+        Cell cell = row == null ? null : row[ordinal];
+        if (cell == null) {
+            int stamp = epoch;
+            cell = resolve(orePrefixes, werkstoff);
+            if (cell == null) return null;
+            if (mID >= 0) store(werkstoff, ordinal, cell, stamp);
+        }
+        if (cell.gtUnified) return GT_Utility.copyAmount(amount, cell.stack);
+        ItemStack ret = cell.stack.copy();
+        ret.stackSize = amount;
+        return ret;
+    }
+
+    private static Cell resolve(OrePrefixes orePrefixes, Werkstoff werkstoff) {
+        if (!werkstoff.getGenerationFeatures().enforceUnification) {
+            ItemStack ret = GT_OreDictUnificator.get(orePrefixes, werkstoff.getBridgeMaterial(), 1);
+            if (ret != null) return new Cell(ret, true);
+            ret = OreDictHandler.getItemStack(werkstoff.getVarName(), orePrefixes, 1);
+            if (ret != null) return new Cell(ret, false);
+        }
+        ItemStack ret = null;
+        if (orePrefixes == ore) ret = new ItemStack(WerkstoffLoader.BWOres, 1, werkstoff.getmID());
+        else if (orePrefixes == oreSmall) ret = new ItemStack(WerkstoffLoader.BWSmallOres, 1, werkstoff.getmID());
+        else if (orePrefixes == block) ret = new ItemStack(WerkstoffLoader.BWBlocks, 1, werkstoff.getmID());
+        else if (orePrefixes == OrePrefixes.blockCasing)
+            ret = new ItemStack(WerkstoffLoader.BWBlockCasings, 1, werkstoff.getmID());
+        else if (orePrefixes == OrePrefixes.blockCasingAdvanced)
+            ret = new ItemStack(WerkstoffLoader.BWBlockCasingsAdvanced, 1, werkstoff.getmID());
+        else if (WerkstoffLoader.items.get(orePrefixes) != null)
+            ret = new ItemStack(WerkstoffLoader.items.get(orePrefixes), 1, werkstoff.getmID());
+        return ret == null ? null : new Cell(ret, false);
+    }
+
+    private static synchronized void store(Werkstoff werkstoff, int ordinal, Cell cell, int stamp) {
+        if (stamp != epoch) return;
+        short mID = werkstoff.getmID();
+        Cell[][] rows = table;
+        if (mID >= rows.length) table = rows = Arrays.copyOf(rows, Math.max(mID + 1, rows.length << 1));
+        if (rows[mID] == null) {
+            rows[mID] = new Cell[PREFIX_COUNT];
+            byMaterialName.computeIfAbsent(werkstoff.getVarName(), k -> new HashSet<>()).add(werkstoff);
+            if (werkstoff.getBridgeMaterial() != null) byMaterialName
+                    .computeIfAbsent(werkstoff.getBridgeMaterial().mName, k -> new HashSet<>()).add(werkstoff);
+        }
+        rows[mID][ordinal] = cell;
+    }
+
+    /**
+     * Drops every resolved stack, call this after changing the OreDict unification.
+     */
+    public static synchronized void invalidate() {
+        epoch++;
+        table = new Cell[table.length][];
+        byMaterialName.clear();
+    }
+
+    private static synchronized void invalidate(OrePrefixes orePrefixes, String materialName) {
+        Set<Werkstoff> werkstoffs = byMaterialName.get(materialName);
+        if (werkstoffs == null) return;
+        epoch++;
+        Cell[][] rows = table;
+        for (Werkstoff werkstoff : werkstoffs) rows[werkstoff.getmID()][orePrefixes.ordinal()] = null;
+    }
+
+    @SubscribeEvent
+    public void onOreRegister(OreDictionary.OreRegisterEvent event) {
+        String name = event.Name;
+        for (int i = 1; i < name.length(); i++) {
+            OrePrefixes prefix = PREFIXES_BY_NAME.get(name.substring(0, i));
+            if (prefix != null) WerkstoffItemStackTable.invalidate(prefix, name.substring(i));
+        }
+    }
+}
@@ -1433,21 +1433,7 @@ public class WerkstoffLoader {
     }
 
     public static ItemStack getCorrespondingItemStackUnsafe(OrePrefixes orePrefixes, Werkstoff werkstoff, int amount) {
-        if (!werkstoff.getGenerationFeatures().enforceUnification) {
-            ItemStack ret = GT_OreDictUnificator.get(orePrefixes, werkstoff.getBridgeMaterial(), amount);
-            if (ret != null) return ret;
-            ret = OreDictHandler.getItemStack(werkstoff.getVarName(), orePrefixes, amount);
-            if (ret != null) return ret;
-        }
-        if (orePrefixes == ore) return new ItemStack(WerkstoffLoader.BWOres, amount, werkstoff.getmID());
-        if (orePrefixes == oreSmall) return new ItemStack(WerkstoffLoader.BWSmallOres, amount, werkstoff.getmID());
-        else if (orePrefixes == block) return new ItemStack(WerkstoffLoader.BWBlocks, amount, werkstoff.getmID());
-        else if (orePrefixes == OrePrefixes.blockCasing)
-            return new ItemStack(WerkstoffLoader.BWBlockCasings, amount, werkstoff.getmID());
-        else if (orePrefixes == OrePrefixes.blockCasingAdvanced)
-            return new ItemStack(WerkstoffLoader.BWBlockCasingsAdvanced, amount, werkstoff.getmID());
-        else if (WerkstoffLoader.items.get(orePrefixes) == null) return null;
-        return new ItemStack(WerkstoffLoader.items.get(orePrefixes), amount, werkstoff.getmID()).copy();
+        return WerkstoffItemStackTable.get(orePrefixes, werkstoff, amount);
     }
 
     public static ItemStack getCorrespondingItemStack(OrePrefixes orePrefixes, Werkstoff werkstoff, int amount) {
@@ -1474,6 +1460,7 @@ public class WerkstoffLoader {
         addItemsForGeneration();
         addBridgeSubTags();
         runAdditionalOreDict();
+        WerkstoffItemStackTable.invalidate();
         long timepost = System.nanoTime();
         MainMod.LOGGER.info(
                 "Making Meta Items for BW Materials took " + (timepost - timepre)
@@ -1793,6 +1780,7 @@ public class WerkstoffLoader {
         }
         addFakeItemDataToInWorldBlocksAndCleanUpFakeData();
         addVanillaCasingsToGTOreDictUnificator();
+        WerkstoffItemStackTable.invalidate();
     }
 
     public static void addVanillaCasingsToGTOreDictUnificator() {
@@ -23,6 +23,7 @@ import net.minecraft.item.ItemStack;
 import net.minecraftforge.oredict.OreDictionary;
 
 import com.github.bartimaeusnek.bartworks.MainMod;
+import com.github.bartimaeusnek.bartworks.system.material.WerkstoffItemStackTable;
 import com.github.bartimaeusnek.bartworks.util.Pair;
 import com.github.bartimaeusnek.crossmod.BartWorksCrossmod;
 
@@ -47,6 +48,7 @@ public class OreDictHandler {
         Set<String> used = new HashSet<>(OreDictHandler.cache.keySet());
         OreDictHandler.cache.clear();
         OreDictHandler.cacheNonBW.clear();
+        WerkstoffItemStackTable.invalidate();
         for (String s : used) {
             if (!OreDictionary.getOres(s).isEmpty()) {
                 ItemStack tmpstack = OreDictionary.getOres(s).get(0).copy();
@@ -0,0 +1,104 @@
+package com.github.bartimaeusnek.bartworks.system.oregen;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldSavedData;
+import net.minecraftforge.common.util.Constants;
+
+/**
+ * Remembers which 3x3 chunk vein squares of a dimension already had their BW vein, so a restart does not generate
+ * them again. One bit per vein center, packed into regions of 32x32 vein centers (96x96 chunks) that only exist once
+ * something in them was generated. Saved with the dimension's per world storage.
+ */
+public class BW_GeneratedVeinStore extends WorldSavedData {
+
+    private static final String NAME = "bartworks_generated_veins";
+    private static final int REGION_SHIFT = 5;
+    private static final int REGION_MASK = (1 << REGION_SHIFT) - 1;
+
+    private final Map<Long, int[]> regions = new HashMap<>();
+    private long lastKey;
+    private int[] lastRegion;
+
+    public BW_GeneratedVeinStore(String name) {
+        super(name);
+    }
+
+    public static BW_GeneratedVeinStore get(World world) {
+        BW_GeneratedVeinStore ret = (BW_GeneratedVeinStore) world.perWorldStorage
+                .loadData(BW_GeneratedVeinStore.class, NAME);
+        if (ret == null) {
+            ret = new BW_GeneratedVeinStore(NAME);
+            world.perWorldStorage.setData(NAME, ret);
+        }
+        return ret;
+    }
+
+    private static long regionKey(int xRegion, int zRegion) {
+        return (long) xRegion << 32 | zRegion & 0xFFFFFFFFL;
+    }
+
+    private int[] getRegion(int xVein, int zVein, boolean create) {
+        long key = regionKey(xVein >> REGION_SHIFT, zVein >> REGION_SHIFT);
+        if (this.lastRegion != null && this.lastKey == key) return this.lastRegion;
+        int[] region = this.regions.get(key);
+        if (region == null) {
+            if (!create) return null;
+            region = new int[1 << REGION_SHIFT];
+            this.regions.put(key, region);
+        }
+        this.lastKey = key;
+        this.lastRegion = region;
+        return region;
+    }
+
+    /**
+     * @param xCenter chunk x of the vein center, see
+     *                {@link BW_WordGenerator.WorldGenContainer#getVeinCenterCoordinate(int)}
+     * @param zCenter chunk z of the vein center
+     */
+    public boolean isGenerated(int xCenter, int zCenter) {
+        int xVein = Math.floorDiv(xCenter - 1, 3);
+        int zVein = Math.floorDiv(zCenter - 1, 3);
+        int[] region = this.getRegion(xVein, zVein, false);
+        return region != null && (region[zVein & REGION_MASK] & 1 << (xVein & REGION_MASK)) != 0;
+    }
+
+    public void setGenerated(int xCenter, int zCenter) {
+        int xVein = Math.floorDiv(xCenter - 1, 3);
+        int zVein = Math.floorDiv(zCenter - 1, 3);
+        int[] region = this.getRegion(xVein, zVein, true);
+        region[zVein & REGION_MASK] |= 1 << (xVein & REGION_MASK);
+        this.markDirty();
+    }
+
+    @Override
+    public void readFromNBT(NBTTagCompound compound) {
+        this.regions.clear();
+        this.lastRegion = null;
+        NBTTagList list = compound.getTagList("regions", Constants.NBT.TAG_COMPOUND);
+        for (int i = 0; i < list.tagCount(); i++) {
+            NBTTagCompound tag = list.getCompoundTagAt(i);
+            int[] bits = tag.getIntArray("bits");
+            if (bits.length != 1 << REGION_SHIFT) continue;
+            this.regions.put(regionKey(tag.getInteger("x"), tag.getInteger("z")), bits);
+        }
+    }
+
+    @Override
+    public void writeToNBT(NBTTagCompound compound) {
+        NBTTagList list = new NBTTagList();
+        for (Map.Entry<Long, int[]> entry : this.regions.entrySet()) {
+            NBTTagCompound tag = new NBTTagCompound();
+            tag.setInteger("x", (int) (entry.getKey() >> 32));
+            tag.setInteger("z", (int) (long) entry.getKey());
+            tag.setIntArray("bits", entry.getValue());
+            list.appendTag(tag);
+        }
+        compound.setTag("regions", list);
+    }
+}
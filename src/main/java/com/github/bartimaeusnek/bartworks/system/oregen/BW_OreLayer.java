@@ -185,7 +185,9 @@ public abstract class BW_OreLayer extends GT_Worldgen {
     public boolean setOreBlock(World aWorld, int aX, int aY, int aZ, int aMetaData, boolean isSmallOre) {
         // security stuff to prevent crashes with 2 TileEntites on the same Spot
         TileEntity te = aWorld.getTileEntity(aX, aY, aZ);
-        if (te instanceof BW_MetaGeneratedOreTE || te instanceof GT_TileEntity_Ores) return true;
+        if (te instanceof BW_MetaGeneratedOreTE || te instanceof GT_TileEntity_Ores
+                || aWorld.getBlock(aX, aY, aZ) instanceof BW_MetaGenerated_Ores)
+            return true;
 
         if (aMetaData == this.mSporadicMeta && (this.bwOres & 0b0001) != 0
                 || aMetaData == this.mBetweenMeta && (this.bwOres & 0b0010) != 0
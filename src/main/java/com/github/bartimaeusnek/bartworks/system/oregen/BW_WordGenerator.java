@@ -13,10 +13,10 @@
 
 package com.github.bartimaeusnek.bartworks.system.oregen;
 
-import java.util.HashSet;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Random;
 
-import net.minecraft.world.ChunkCoordIntPair;
 import net.minecraft.world.World;
 import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.chunk.IChunkProvider;
@@ -46,9 +46,53 @@ public class BW_WordGenerator implements IWorldGenerator {
                 aChunkProvider).run();
     }
 
+    private static final Map<Integer, LayerSelection> LAYER_SELECTIONS = new HashMap<>();
+
+    private static LayerSelection getLayerSelection(World aWorld, int aDimensionType) {
+        LayerSelection ret = LAYER_SELECTIONS.get(aDimensionType);
+        if (ret == null || ret.listSize != BW_OreLayer.sList.size()) {
+            ret = new LayerSelection(aWorld, aDimensionType);
+            LAYER_SELECTIONS.put(aDimensionType, ret);
+        }
+        return ret;
+    }
+
+    /**
+     * The layers allowed in one dimension with their cumulative weights, rebuilt when layers get added.
+     */
+    private static class LayerSelection {
+
+        final int listSize;
+        final BW_OreLayer[] layers;
+        final int[] cumulativeWeights;
+
+        LayerSelection(World aWorld, int aDimensionType) {
+            this.listSize = BW_OreLayer.sList.size();
+            this.layers = BW_OreLayer.sList.stream()
+                    .filter(layer -> layer.isGenerationAllowed(aWorld, aDimensionType, aDimensionType))
+                    .toArray(BW_OreLayer[]::new);
+            this.cumulativeWeights = new int[this.layers.length];
+            int sum = 0;
+            for (int i = 0; i < this.layers.length; i++) this.cumulativeWeights[i] = sum += this.layers[i].mWeight;
+        }
+
+        /**
+         * @return the first layer whose cumulative weight reaches the roll, or layers.length if the roll is above all
+         *         of them
+         */
+        int select(int roll) {
+            int low = 0, high = this.cumulativeWeights.length;
+            while (low < high) {
+                int mid = low + high >>> 1;
+                if (this.cumulativeWeights[mid] < roll) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+    }
+
     public static class WorldGenContainer implements Runnable {
 
-        public static HashSet<ChunkCoordIntPair> mGenerated = new HashSet<>(2000);
         public final int mDimensionType;
         public final World mWorld;
         public final IChunkProvider mChunkGenerator;
@@ -90,42 +134,39 @@ public class BW_WordGenerator implements IWorldGenerator {
             int xCenter = this.getVeinCenterCoordinate(this.mX >> 4);
             int zCenter = this.getVeinCenterCoordinate(this.mZ >> 4);
             Random random = this.getRandom(xCenter, zCenter);
-            xCenter <<= 4;
-            zCenter <<= 4;
-            ChunkCoordIntPair centerChunk = new ChunkCoordIntPair(xCenter, zCenter);
-            if (!BW_WordGenerator.WorldGenContainer.mGenerated.contains(centerChunk)
-                    && this.surroundingChunksLoaded(xCenter, zCenter)) {
-                BW_WordGenerator.WorldGenContainer.mGenerated.add(centerChunk);
-                if (BW_OreLayer.sWeight > 0 && BW_OreLayer.sList.size() > 0) {
+            BW_GeneratedVeinStore generated = BW_GeneratedVeinStore.get(this.mWorld);
+            if (!generated.isGenerated(xCenter, zCenter)
+                    && this.surroundingChunksLoaded(xCenter << 4, zCenter << 4)) {
+                generated.setGenerated(xCenter, zCenter);
+                xCenter <<= 4;
+                zCenter <<= 4;
+                LayerSelection selection = BW_WordGenerator.getLayerSelection(this.mWorld, this.mDimensionType);
+                if (BW_OreLayer.sWeight > 0 && selection.layers.length > 0) {
                     boolean temp = true;
-                    int tRandomWeight;
                     for (int i = 0; i < 256 && temp; i++) {
-                        tRandomWeight = random.nextInt(BW_OreLayer.sWeight);
-                        for (BW_OreLayer tWorldGen : BW_OreLayer.sList) {
-                            if (!tWorldGen.isGenerationAllowed(this.mWorld, this.mDimensionType, this.mDimensionType))
-                                continue;
-                            tRandomWeight -= tWorldGen.mWeight;
-                            if (tRandomWeight <= 0) {
-                                try {
-                                    boolean placed;
-                                    int attempts = 0;
-                                    do {
-                                        placed = tWorldGen.executeWorldgen(
-                                                this.mWorld,
-                                                random,
-                                                "",
-                                                this.mDimensionType,
-                                                xCenter,
-                                                zCenter,
-                                                this.mChunkGenerator,
-                                                this.mChunkProvider);
-                                        ++attempts;
-                                    } while (!placed && attempts < 25);
-                                    temp = false;
-                                    break;
-                                } catch (Throwable e) {
-                                    e.printStackTrace(GT_Log.err);
-                                }
+                        // the roll still covers the weight of every dim, so foreign dims keep failing attempts
+                        int first = selection.select(random.nextInt(BW_OreLayer.sWeight));
+                        for (int j = first; j < selection.layers.length; j++) {
+                            BW_OreLayer tWorldGen = selection.layers[j];
+                            try {
+                                boolean placed;
+                                int attempts = 0;
+                                do {
+                                    placed = tWorldGen.executeWorldgen(
+                                            this.mWorld,
+                                            random,
+                                            "",
+                                            this.mDimensionType,
+                                            xCenter,
+                                            zCenter,
+                                            this.mChunkGenerator,
+                                            this.mChunkProvider);
+                                    ++attempts;
+                                } while (!placed && attempts < 25);
+                                temp = false;
+                                break;
+                            } catch (Throwable e) {
+                                e.printStackTrace(GT_Log.err);
                             }
                         }
                     }
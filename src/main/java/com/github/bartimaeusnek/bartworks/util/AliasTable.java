@@ -0,0 +1,76 @@
+package com.github.bartimaeusnek.bartworks.util;
+
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Immutable weighted distribution sampled in constant time with Vose's alias method. Every column holds its own
+ * element and an alias, so a draw is one random column plus one biased coin flip.
+ */
+public class AliasTable<T> {
+
+    private final Object[] elements;
+    private final double[] probability;
+    private final int[] alias;
+    private final double totalWeight;
+
+    /**
+     * @param weights the non normalised weights, entries with a weight of 0 or less are never drawn
+     */
+    public AliasTable(Map<? extends T, Float> weights) {
+        int n = weights.size();
+        this.elements = new Object[n];
+        this.probability = new double[n];
+        this.alias = new int[n];
+
+        double[] scaled = new double[n];
+        double total = 0;
+        int i = 0;
+        for (Map.Entry<? extends T, Float> entry : weights.entrySet()) {
+            this.elements[i] = entry.getKey();
+            scaled[i] = Math.max(0f, entry.getValue());
+            total += scaled[i++];
+        }
+        this.totalWeight = total;
+        if (total <= 0) return;
+
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallSize = 0, largeSize = 0;
+        for (i = 0; i < n; i++) {
+            scaled[i] = scaled[i] * n / total;
+            if (scaled[i] < 1d) small[smallSize++] = i;
+            else large[largeSize++] = i;
+        }
+        while (smallSize > 0 && largeSize > 0) {
+            int less = small[--smallSize];
+            int more = large[--largeSize];
+            this.probability[less] = scaled[less];
+            this.alias[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1d;
+            if (scaled[more] < 1d) small[smallSize++] = more;
+            else large[largeSize++] = more;
+        }
+        // whatever is left over is 1 within rounding errors
+        while (largeSize > 0) this.probability[large[--largeSize]] = 1d;
+        while (smallSize > 0) this.probability[small[--smallSize]] = 1d;
+    }
+
+    public boolean isEmpty() {
+        return this.totalWeight <= 0;
+    }
+
+    public double getTotalWeight() {
+        return this.totalWeight;
+    }
+
+    /**
+     * @return a random element, or null if the table {@link #isEmpty()}
+     */
+    @SuppressWarnings("unchecked")
+    public T sample(Random random) {
+        if (this.isEmpty()) return null;
+        int column = random.nextInt(this.elements.length);
+        return (T) this.elements[random.nextDouble() < this.probability[column] ? column : this.alias[column]];
+    }
+}
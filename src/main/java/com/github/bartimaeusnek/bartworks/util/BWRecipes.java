@@ -756,18 +756,18 @@ public class BWRecipes {
                 boolean aHidden) {
             aRecipe.mHidden = aHidden;
             aRecipe.mFakeRecipe = aFakeRecipe;
-            GT_Recipe isthere = this
-                    .findRecipe(null, false, false, 9223372036854775807L, aRecipe.mFluidInputs, aRecipe.mInputs);
 
             if (aRecipe.mFluidInputs.length < this.mMinimalInputFluids
                     && aRecipe.mInputs.length < this.mMinimalInputItems) {
                 return null;
             }
-            return aCheckForCollisions && isthere != null
-                    && BW_Util
-                            .areStacksEqualOrNull((ItemStack) isthere.mSpecialItems, (ItemStack) aRecipe.mSpecialItems)
-                                    ? null
-                                    : this.add(aRecipe);
+            if (!aCheckForCollisions) return this.add(aRecipe);
+            GT_Recipe isthere = this
+                    .findRecipe(null, false, false, 9223372036854775807L, aRecipe.mFluidInputs, aRecipe.mInputs);
+            if (isthere != null && BW_Util
+                    .areStacksEqualOrNull((ItemStack) isthere.mSpecialItems, (ItemStack) aRecipe.mSpecialItems))
+                return null;
+            return this.add(aRecipe);
         }
 
         public GT_Recipe addRecipe(GT_Recipe aRecipe, boolean VanillaGT) {
@@ -785,18 +785,10 @@ public class BWRecipes {
             ItemStack[] nu1 = Arrays.copyOf(aRecipe.mInputs, aRecipe.mInputs.length + 1);
             nu1[nu1.length - 1] = GT_Utility.getIntegratedCircuit(9 + nu1.length);
             aRecipe.mInputs = nu1;
-            if (this.findRecipe(null, false, 9223372036854775807L, aRecipe.mFluidInputs, aRecipe.mInputs) != null) {
-                ItemStack[] nu = Arrays.copyOf(aRecipe.mInputs, aRecipe.mInputs.length + 1);
-                int i = 9 + nu.length;
-                do {
-                    nu[nu.length - 1] = GT_Utility.getIntegratedCircuit(i);
-                    i++;
-                    aRecipe.mInputs = nu;
-                    if (i > 24) i = 1;
-                    if (i == 9 + nu.length) return null;
-                } while (this.findRecipe(null, false, 9223372036854775807L, aRecipe.mFluidInputs, aRecipe.mInputs)
-                        != null);
-            }
+            // A recipe found here needs a subset of these inputs, so it would still be found with any other circuit
+            // added on top; trying the other circuits one by one could never succeed.
+            if (this.findRecipe(null, false, 9223372036854775807L, aRecipe.mFluidInputs, aRecipe.mInputs) != null)
+                return null;
             return this.addRecipe(aRecipe, false, false, false);
         }
 
@@ -0,0 +1,61 @@
+package com.github.bartimaeusnek.bartworks.util;
+
+import java.util.HashMap;
+
+/**
+ * Set of block positions of one dimension, stored as a 4096 bit bitmap per 16x16x16 section that has at least one
+ * position in it.
+ */
+public class BlockBitmap {
+
+    private final HashMap<Long, long[]> sections = new HashMap<>();
+    private long lastKey;
+    private long[] lastSection;
+
+    private long[] getSection(int x, int y, int z, boolean create) {
+        long key = Coords.pack(x >> 4, y >> 4, z >> 4);
+        if (this.lastSection != null && this.lastKey == key) return this.lastSection;
+        long[] section = this.sections.get(key);
+        if (section == null) {
+            if (!create) return null;
+            section = new long[64];
+            this.sections.put(key, section);
+        }
+        this.lastKey = key;
+        this.lastSection = section;
+        return section;
+    }
+
+    private static int index(int x, int y, int z) {
+        return (y & 15) << 8 | (z & 15) << 4 | x & 15;
+    }
+
+    /**
+     * @return true if the position was not in the set before
+     */
+    public boolean add(int x, int y, int z) {
+        long[] section = this.getSection(x, y, z, true);
+        int index = BlockBitmap.index(x, y, z);
+        long bit = 1L << (index & 63);
+        if ((section[index >>> 6] & bit) != 0) return false;
+        section[index >>> 6] |= bit;
+        return true;
+    }
+
+    public void remove(int x, int y, int z) {
+        long[] section = this.getSection(x, y, z, false);
+        int index = BlockBitmap.index(x, y, z);
+        if (section != null) section[index >>> 6] &= ~(1L << (index & 63));
+    }
+
+    public boolean contains(int x, int y, int z) {
+        long[] section = this.getSection(x, y, z, false);
+        int index = BlockBitmap.index(x, y, z);
+        return section != null && (section[index >>> 6] & 1L << (index & 63)) != 0;
+    }
+
+    public void clear() {
+        this.sections.clear();
+        this.lastSection = null;
+    }
+}
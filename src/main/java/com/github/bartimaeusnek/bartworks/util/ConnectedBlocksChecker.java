@@ -13,17 +13,37 @@
 
 package com.github.bartimaeusnek.bartworks.util;
 
+import java.util.Arrays;
 import java.util.HashSet;
 
 import net.minecraft.block.Block;
+import net.minecraft.init.Blocks;
 import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
 import net.minecraftforge.common.DimensionManager;
 
 import gregtech.api.interfaces.tileentity.IGregTechTileEntity;
 
+/**
+ * Iterative flood fill over blocks of one type. Found positions are kept packed ({@link Coords#pack}) in
+ * {@link #hashset} and, in the order they were found, in an array that doubles as the BFS queue, so a search allocates
+ * nothing per block. Blocks are read straight from the chunk storage, caching the last chunk.
+ * <p>
+ * Calling {@link #get_connected} again on the same instance only adds blocks that are not known yet, which allows
+ * growing a structure incrementally; {@link #size()} before the call marks where the new blocks start.
+ * <p>
+ * {@link #hashset} used to be a {@code HashSet<Coords>}, {@link #toCoordsSet(int)} builds one for old callers.
+ */
 public class ConnectedBlocksChecker {
 
-    public final HashSet<Coords> hashset = new HashSet<>(2048);
+    private static final int[][] SIDES = { { 1, 0, 0 }, { -1, 0, 0 }, { 0, 0, 1 }, { 0, 0, -1 }, { 0, 1, 0 },
+            { 0, -1, 0 } };
+
+    public final LongOpenHashSet hashset = new LongOpenHashSet(2048);
+    private long[] found = new long[2048];
+    private int size;
+    private Chunk chunk;
 
     public static byte check_sourroundings(Coords C, Block b) {
         byte ret = 0;
@@ -45,131 +65,143 @@ public class ConnectedBlocksChecker {
         return ret;
     }
 
+    /**
+     * Searches all blocks of type b connected to the start position. The start itself is always added, no matter
+     * which block it is.
+     *
+     * @return the amount of newly found blocks, not counting the start
+     */
     public int get_connected(World w, int x, int y, int z, Block b) {
-        int ret = 0;
-
-        int wID = w.provider.dimensionId;
-
-        byte sides = this.check_sourroundings(w, x, y, z, b);
-
-        if ((sides | 0b111011) == 0b111111 && !this.hashset.contains(new Coords(x + 1, y, z, wID))) {
-            ret++;
-            ret += this.get_connected(w, x + 1, y, z, b);
-        }
-
-        if ((sides | 0b110111) == 0b111111 && !this.hashset.contains(new Coords(x - 1, y, z, wID))) {
-            ret++;
-            ret += this.get_connected(w, x - 1, y, z, b);
-        }
-
-        if ((sides | 0b101111) == 0b111111 && !this.hashset.contains(new Coords(x, y, z + 1, wID))) {
-            ret++;
-            ret += this.get_connected(w, x, y, z + 1, b);
-        }
-
-        if ((sides | 0b011111) == 0b111111 && !this.hashset.contains(new Coords(x, y, z - 1, wID))) {
-            ret++;
-            ret += this.get_connected(w, x, y, z - 1, b);
-        }
-
-        if ((sides | 0b111110) == 0b111111 && !this.hashset.contains(new Coords(x, y + 1, z, wID))) {
-            ret++;
-            ret += this.get_connected(w, x, y + 1, z, b);
-        }
-
-        if ((sides | 0b111101) == 0b111111 && !this.hashset.contains(new Coords(x, y - 1, z, wID))) {
-            ret++;
-            ret += this.get_connected(w, x, y - 1, z, b);
+        int before = this.size;
+        long start = Coords.pack(x, y, z);
+        if (!this.hashset.add(start)) return 0;
+        this.append(start);
+
+        for (int head = before; head < this.size; head++) {
+            long pos = this.found[head];
+            int px = Coords.unpackX(pos), py = Coords.unpackY(pos), pz = Coords.unpackZ(pos);
+            for (int[] side : SIDES) {
+                int nx = px + side[0], ny = py + side[1], nz = pz + side[2];
+                long next = Coords.pack(nx, ny, nz);
+                if (this.hashset.contains(next) || this.getBlock(w, nx, ny, nz) != b) continue;
+                this.hashset.add(next);
+                this.append(next);
+            }
         }
-
-        return ret;
+        this.chunk = null;
+        return this.size - before - 1;
     }
 
+    /**
+     * Marks the position as found and returns which of its sides are blocks of type b, in the bits of
+     * {@link #check_sourroundings(Coords, Block)}. Returns 0 if the position was already found.
+     *
+     * @deprecated only kept for callers of the old recursive search, use {@link #get_connected}
+     */
+    @Deprecated
     public byte check_sourroundings(World w, int x, int y, int z, Block b) {
+        long pos = Coords.pack(x, y, z);
+        if (!this.hashset.add(pos)) return 0;
+        this.append(pos);
 
         byte ret = 0;
-        int wID = w.provider.dimensionId;
-
-        if (this.hashset.contains(new Coords(x, y, z, wID))) return ret;
-
-        this.hashset.add(new Coords(x, y, z, wID));
-
-        if (w.getBlock(x + 1, y, z).equals(b)) ret = (byte) (ret | 0b000100);
-
-        if (w.getBlock(x - 1, y, z).equals(b)) ret = (byte) (ret | 0b001000);
+        if (this.getBlock(w, x + 1, y, z) == b) ret = (byte) (ret | 0b000100);
+        if (this.getBlock(w, x - 1, y, z) == b) ret = (byte) (ret | 0b001000);
+        if (this.getBlock(w, x, y, z + 1) == b) ret = (byte) (ret | 0b010000);
+        if (this.getBlock(w, x, y, z - 1) == b) ret = (byte) (ret | 0b100000);
+        if (this.getBlock(w, x, y + 1, z) == b) ret = (byte) (ret | 0b000001);
+        if (this.getBlock(w, x, y - 1, z) == b) ret = (byte) (ret | 0b000010);
+        this.chunk = null;
+        return ret;
+    }
 
-        if (w.getBlock(x, y, z + 1).equals(b)) ret = (byte) (ret | 0b010000);
+    public boolean get_meta_of_sideblocks(World w, int n, int[] xyz, boolean GT) {
+        return this.get_meta_of_sideblocks(w, n, xyz, GT, 0);
+    }
 
-        if (w.getBlock(x, y, z - 1).equals(b)) ret = (byte) (ret | 0b100000);
+    /**
+     * Checks if any block next to the found blocks, except the controller, is a GT machine with the meta tile id n, or
+     * in non GT mode has the metadata n.
+     *
+     * @param from only check blocks found since this {@link #size()}
+     */
+    public boolean get_meta_of_sideblocks(World w, int n, int[] xyz, boolean GT, int from) {
+        long controller = Coords.pack(xyz[0], xyz[1], xyz[2]);
+        try {
+            for (int i = from; i < this.size; i++) {
+                long pos = this.found[i];
+                int px = Coords.unpackX(pos), py = Coords.unpackY(pos), pz = Coords.unpackZ(pos);
+                for (int[] side : SIDES) {
+                    int nx = px + side[0], ny = py + side[1], nz = pz + side[2];
+                    if (Coords.pack(nx, ny, nz) == controller) continue;
+                    ExtendedBlockStorage storage = this.getStorage(w, nx, ny, nz);
+                    int meta = storage == null ? 0 : storage.getExtBlockMetadata(nx & 15, ny & 15, nz & 15);
+                    if (!GT) {
+                        if (meta == n) return true;
+                        continue;
+                    }
+                    // only blocks that can have a TileEntity are worth the TileEntity lookup
+                    if (storage == null || !storage.getBlockByExtId(nx & 15, ny & 15, nz & 15).hasTileEntity(meta))
+                        continue;
+                    if (w.getTileEntity(nx, ny, nz) instanceof IGregTechTileEntity gtTE && gtTE.getMetaTileID() == n)
+                        return true;
+                }
+            }
+            return false;
+        } finally {
+            this.chunk = null;
+        }
+    }
 
-        if (w.getBlock(x, y + 1, z).equals(b)) ret = (byte) (ret | 0b000001);
+    /**
+     * @return the amount of found blocks, including start positions
+     */
+    public int size() {
+        return this.size;
+    }
 
-        if (w.getBlock(x, y - 1, z).equals(b)) ret = (byte) (ret | 0b000010);
+    /**
+     * @return the packed position of the index-th found block
+     */
+    public long get(int index) {
+        return this.found[index];
+    }
 
+    /**
+     * @return the found blocks the way {@link #hashset} used to hold them
+     * @deprecated copies every position, use {@link #hashset} or {@link #get(int)}
+     */
+    @Deprecated
+    public HashSet<Coords> toCoordsSet(int wID) {
+        HashSet<Coords> ret = new HashSet<>(Math.max(16, this.size * 2));
+        for (int i = 0; i < this.size; i++) {
+            long pos = this.found[i];
+            ret.add(new Coords(Coords.unpackX(pos), Coords.unpackY(pos), Coords.unpackZ(pos), wID));
+        }
         return ret;
     }
 
-    public boolean get_meta_of_sideblocks(World w, int n, int[] xyz, boolean GT) {
+    public void clear() {
+        this.hashset.clear();
+        this.size = 0;
+    }
 
-        int wID = w.provider.dimensionId;
-        Coords Controller = new Coords(xyz[0], xyz[1], xyz[2], wID);
+    private void append(long pos) {
+        if (this.size == this.found.length) this.found = Arrays.copyOf(this.found, this.size << 1);
+        this.found[this.size++] = pos;
+    }
 
-        for (Coords C : this.hashset) {
-            if (GT) {
-                if (!new Coords(C.x, C.y + 1, C.z, wID).equals(Controller)
-                        && w.getTileEntity(C.x, C.y + 1, C.z) instanceof IGregTechTileEntity gtTE
-                        && gtTE.getMetaTileID() == n) {
-                    return true;
-                }
-                if (!new Coords(C.x, C.y - 1, C.z, wID).equals(Controller)
-                        && w.getTileEntity(C.x, C.y - 1, C.z) instanceof IGregTechTileEntity gtTE
-                        && gtTE.getMetaTileID() == n) {
-                    return true;
-                }
-                if (!new Coords(C.x + 1, C.y, C.z, wID).equals(Controller)
-                        && w.getTileEntity(C.x + 1, C.y, C.z) instanceof IGregTechTileEntity gtTE
-                        && gtTE.getMetaTileID() == n) {
-                    return true;
-                }
-                if (!new Coords(C.x - 1, C.y, C.z, wID).equals(Controller)
-                        && w.getTileEntity(C.x - 1, C.y, C.z) instanceof IGregTechTileEntity gtTE
-                        && gtTE.getMetaTileID() == n) {
-                    return true;
-                }
-                if (!new Coords(C.x, C.y, C.z + 1, wID).equals(Controller)
-                        && w.getTileEntity(C.x, C.y, C.z + 1) instanceof IGregTechTileEntity gtTE
-                        && gtTE.getMetaTileID() == n) {
-                    return true;
-                }
-                if (!new Coords(C.x, C.y, C.z - 1, wID).equals(Controller)
-                        && w.getTileEntity(C.x, C.y, C.z - 1) instanceof IGregTechTileEntity gtTE
-                        && gtTE.getMetaTileID() == n) {
-                    return true;
-                }
-            } else {
-                if (n == w.getBlockMetadata(C.x, C.y + 1, C.z) && !new Coords(C.x, C.y + 1, C.z, wID).equals(Controller)
-                        || n == w.getBlockMetadata(C.x, C.y - 1, C.z)
-                                && !new Coords(C.x, C.y - 1, C.z, wID).equals(Controller)) {
-                    return true;
-                }
-                if (n == w.getBlockMetadata(C.x + 1, C.y, C.z)
-                        && !new Coords(C.x + 1, C.y, C.z, wID).equals(Controller)) {
-                    return true;
-                }
-                if (n == w.getBlockMetadata(C.x - 1, C.y, C.z)
-                        && !new Coords(C.x - 1, C.y, C.z, wID).equals(Controller)) {
-                    return true;
-                }
-                if (n == w.getBlockMetadata(C.x, C.y, C.z + 1)
-                        && !new Coords(C.x, C.y, C.z + 1, wID).equals(Controller)) {
-                    return true;
-                }
-                if (n == w.getBlockMetadata(C.x, C.y, C.z - 1)
-                        && !new Coords(C.x, C.y, C.z - 1, wID).equals(Controller)) {
-                    return true;
-                }
-            }
-        }
-        return false;
+    private ExtendedBlockStorage getStorage(World w, int x, int y, int z) {
+        if (y < 0 || y > 255) return null;
+        int cx = x >> 4, cz = z >> 4;
+        if (this.chunk == null || this.chunk.xPosition != cx || this.chunk.zPosition != cz || this.chunk.worldObj != w)
+            this.chunk = w.getChunkFromChunkCoords(cx, cz);
+        return this.chunk.getBlockStorageArray()[y >> 4];
+    }
+
+    // the only place the search reads the world, overridden by the benchmark to run without one
+    protected Block getBlock(World w, int x, int y, int z) {
+        ExtendedBlockStorage storage = this.getStorage(w, x, y, z);
+        return storage == null ? Blocks.air : storage.getBlockByExtId(x & 15, y & 15, z & 15);
     }
 }
@@ -32,6 +32,30 @@ public class Coords {
         this.wID = 0;
     }
 
+    /**
+     * Packs a block position into a long, 26 bits for x and z, 12 bits for y. Use this as key instead of allocating
+     * Coords when a lot of positions of the same dimension need to be stored.
+     */
+    public static long pack(int x, int y, int z) {
+        return ((long) x & 0x3FFFFFFL) << 38 | ((long) z & 0x3FFFFFFL) << 12 | (long) y & 0xFFFL;
+    }
+
+    public static int unpackX(long packed) {
+        return (int) (packed >> 38);
+    }
+
+    public static int unpackY(long packed) {
+        return (int) (packed << 52 >> 52);
+    }
+
+    public static int unpackZ(long packed) {
+        return (int) (packed << 26 >> 38);
+    }
+
+    public long pack() {
+        return Coords.pack(this.x, this.y, this.z);
+    }
+
     public Coords getCoordsFromSide(ForgeDirection direction) {
         return switch (direction) {
             case UP -> new Coords(this.x, this.y + 1, this.z, this.wID);
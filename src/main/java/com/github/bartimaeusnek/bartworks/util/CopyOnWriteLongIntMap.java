@@ -0,0 +1,101 @@
+package com.github.bartimaeusnek.bartworks.util;
+
+/**
+ * Map of primitive long keys to int values for data that is read a lot more often than it is written, mainly block
+ * positions packed with {@link Coords#pack}. Reads go to an immutable open-addressing table without locking or
+ * allocating, writes are batched, copy the table and publish the copy.
+ */
+public class CopyOnWriteLongIntMap {
+
+    private static final long FREE = 0L;
+
+    private volatile Table table = new Table(0);
+
+    private static final class Table {
+
+        final long[] keys;
+        final int[] values;
+        final int mask;
+        int size;
+        boolean hasFreeKey;
+        int freeValue;
+
+        Table(int expected) {
+            int cap = Integer.highestOneBit(Math.max(4, expected) - 1) << 2;
+            this.keys = new long[cap];
+            this.values = new int[cap];
+            this.mask = cap - 1;
+        }
+
+        private static int mix(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ h >>> 32);
+        }
+
+        // only called before the table is published, it is sized to never fill up
+        void put(long key, int value) {
+            if (key == FREE) {
+                if (!this.hasFreeKey) this.size++;
+                this.hasFreeKey = true;
+                this.freeValue = value;
+                return;
+            }
+            int pos = mix(key) & this.mask;
+            for (long cur; (cur = this.keys[pos]) != FREE; pos = pos + 1 & this.mask) {
+                if (cur == key) {
+                    this.values[pos] = value;
+                    return;
+                }
+            }
+            this.keys[pos] = key;
+            this.values[pos] = value;
+            this.size++;
+        }
+
+        int get(long key, int defaultValue) {
+            if (key == FREE) return this.hasFreeKey ? this.freeValue : defaultValue;
+            for (int pos = mix(key) & this.mask;; pos = pos + 1 & this.mask) {
+                long cur = this.keys[pos];
+                if (cur == FREE) return defaultValue;
+                if (cur == key) return this.values[pos];
+            }
+        }
+
+        void copyTo(Table other, LongOpenHashSet skip) {
+            if (this.hasFreeKey && (skip == null || !skip.contains(FREE))) other.put(FREE, this.freeValue);
+            for (int i = 0; i < this.keys.length; i++) {
+                long key = this.keys[i];
+                if (key != FREE && (skip == null || !skip.contains(key))) other.put(key, this.values[i]);
+            }
+        }
+    }
+
+    public int get(long key, int defaultValue) {
+        return this.table.get(key, defaultValue);
+    }
+
+    public int size() {
+        return this.table.size;
+    }
+
+    public boolean isEmpty() {
+        return this.table.size == 0;
+    }
+
+    public synchronized void putAll(long[] keys, int value) {
+        Table old = this.table;
+        Table next = new Table(old.size + keys.length);
+        old.copyTo(next, null);
+        for (long key : keys) next.put(key, value);
+        this.table = next;
+    }
+
+    public synchronized void removeAll(long[] keys) {
+        LongOpenHashSet skip = new LongOpenHashSet(keys.length);
+        for (long key : keys) skip.add(key);
+        Table old = this.table;
+        Table next = new Table(old.size);
+        old.copyTo(next, skip);
+        this.table = next;
+    }
+}
@@ -0,0 +1,197 @@
+package com.github.bartimaeusnek.bartworks.util;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.minecraft.inventory.InventoryCrafting;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.crafting.CraftingManager;
+import net.minecraft.item.crafting.IRecipe;
+import net.minecraft.item.crafting.ShapedRecipes;
+import net.minecraft.item.crafting.ShapelessRecipes;
+import net.minecraft.world.World;
+import net.minecraftforge.oredict.ShapedOreRecipe;
+import net.minecraftforge.oredict.ShapelessOreRecipe;
+
+/**
+ * Buckets the {@link CraftingManager} recipes by every Item their ingredients accept, metas and OreDict wildcards are
+ * ignored. Recipes that cannot be looked into end up in a catch-all bucket that is always tested. A grid then only
+ * has to be tested against the bucket of its rarest Item, as a recipe can only match if it accepts every Item in the
+ * grid.
+ * <p>
+ * Built lazily, a changed size or last recipe of the recipe list is noticed on its own, other changes need
+ * {@link #invalidate()}.
+ */
+public class CraftingRecipeIndex {
+
+    private static final int[] EMPTY = new int[0];
+
+    private static volatile CraftingRecipeIndex instance;
+    // only touched while building an index, under the class lock
+    private static final Map<Class<?>, Boolean> KEEPS_MATCHES = new HashMap<>();
+
+    private final List<IRecipe> recipeList;
+    private final int recipeCount;
+    private final IRecipe[] recipes;
+    // positions in recipes, ascending, so candidates are tested in the order of the recipe list
+    private final IdentityHashMap<Item, int[]> buckets = new IdentityHashMap<>();
+    private final int[] catchAll;
+
+    @SuppressWarnings("unchecked")
+    private CraftingRecipeIndex() {
+        this.recipeList = CraftingManager.getInstance().getRecipeList();
+        this.recipes = this.recipeList.toArray(new IRecipe[0]);
+        this.recipeCount = this.recipes.length;
+
+        IdentityHashMap<Item, List<Integer>> items = new IdentityHashMap<>();
+        List<Integer> catchAll = new ArrayList<>();
+        IdentityHashMap<Item, Boolean> seen = new IdentityHashMap<>();
+        for (int i = 0; i < this.recipes.length; i++) {
+            seen.clear();
+            if (!CraftingRecipeIndex.collectItems(this.recipes[i], seen)) {
+                catchAll.add(i);
+                continue;
+            }
+            for (Item item : seen.keySet()) items.computeIfAbsent(item, k -> new ArrayList<>()).add(i);
+        }
+        for (Map.Entry<Item, List<Integer>> entry : items.entrySet())
+            this.buckets.put(entry.getKey(), CraftingRecipeIndex.toArray(entry.getValue()));
+        this.catchAll = CraftingRecipeIndex.toArray(catchAll);
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        int[] ret = new int[list.size()];
+        for (int i = 0; i < ret.length; i++) ret[i] = list.get(i);
+        return ret;
+    }
+
+    /**
+     * Subclasses of the vanilla and Forge recipe classes are only looked into if they keep their matches(), an override
+     * may accept other Items than the ingredients.
+     *
+     * @return false if the ingredients of the recipe are unknown
+     */
+    private static boolean collectItems(IRecipe recipe, Map<Item, Boolean> items) {
+        if (recipe == null || !CraftingRecipeIndex.keepsMatches(recipe.getClass())) return false;
+        if (recipe instanceof ShapedRecipes shaped) {
+            for (ItemStack stack : shaped.recipeItems) CraftingRecipeIndex.collectItems(stack, items);
+        } else if (recipe instanceof ShapelessRecipes shapeless) {
+            for (Object stack : shapeless.recipeItems) CraftingRecipeIndex.collectItems(stack, items);
+        } else if (recipe instanceof ShapedOreRecipe shapedOre) {
+            for (Object input : shapedOre.getInput()) CraftingRecipeIndex.collectItems(input, items);
+        } else if (recipe instanceof ShapelessOreRecipe shapelessOre) {
+            for (Object input : shapelessOre.getInput()) CraftingRecipeIndex.collectItems(input, items);
+        } else return false;
+        return true;
+    }
+
+    /**
+     * Looked up once per class. matches() is found by its parameters, its name is obfuscated outside the dev
+     * environment.
+     *
+     * @return true if the class is one of the known recipe classes or a subclass not overriding matches()
+     */
+    private static boolean keepsMatches(Class<?> type) {
+        return CraftingRecipeIndex.KEEPS_MATCHES.computeIfAbsent(type, k -> {
+            for (Class<?> c = k; c != null; c = c.getSuperclass()) {
+                if (c == ShapedRecipes.class || c == ShapelessRecipes.class
+                        || c == ShapedOreRecipe.class
+                        || c == ShapelessOreRecipe.class)
+                    return true;
+                for (Method method : c.getDeclaredMethods()) {
+                    Class<?>[] parameters = method.getParameterTypes();
+                    if (parameters.length == 2 && parameters[0] == InventoryCrafting.class
+                            && parameters[1] == World.class
+                            && method.getReturnType() == boolean.class)
+                        return false;
+                }
+            }
+            return false;
+        });
+    }
+
+    private static void collectItems(Object input, Map<Item, Boolean> items) {
+        if (input instanceof ItemStack stack) {
+            if (stack.getItem() != null) items.put(stack.getItem(), Boolean.TRUE);
+        } else if (input instanceof Collection) {
+            for (Object stack : (Collection<?>) input) CraftingRecipeIndex.collectItems(stack, items);
+        }
+    }
+
+    private static CraftingRecipeIndex get() {
+        CraftingRecipeIndex ret = CraftingRecipeIndex.instance;
+        if (ret != null && ret.isCurrent()) return ret;
+        synchronized (CraftingRecipeIndex.class) {
+            ret = CraftingRecipeIndex.instance;
+            if (ret == null || !ret.isCurrent()) CraftingRecipeIndex.instance = ret = new CraftingRecipeIndex();
+            return ret;
+        }
+    }
+
+    /**
+     * Notices added recipes and a remove followed by an add, which appends. Anything else, like replacing a recipe in
+     * place, needs {@link #invalidate()}, e.g. through /bwclr.
+     */
+    @SuppressWarnings("unchecked")
+    private boolean isCurrent() {
+        List<IRecipe> current = CraftingManager.getInstance().getRecipeList();
+        return current == this.recipeList && current.size() == this.recipeCount
+                && (this.recipeCount == 0 || current.get(this.recipeCount - 1) == this.recipes[this.recipeCount - 1]);
+    }
+
+    public static void invalidate() {
+        CraftingRecipeIndex.instance = null;
+    }
+
+    /**
+     * Finds the first recipe in recipe list order matching the grid.
+     *
+     * @param unique set to whether no other recipe matches, if not null
+     * @return the recipe or null
+     */
+    public static IRecipe findMatchingRecipe(InventoryCrafting inventoryCrafting, World world, boolean[] unique) {
+        return CraftingRecipeIndex.get().find(inventoryCrafting, world, unique);
+    }
+
+    private IRecipe find(InventoryCrafting inventoryCrafting, World world, boolean[] unique) {
+        int[] candidates = null;
+        for (int j = 0; j < inventoryCrafting.getSizeInventory(); ++j) {
+            ItemStack stack = inventoryCrafting.getStackInSlot(j);
+            if (stack == null || stack.getItem() == null) continue;
+            int[] bucket = this.buckets.get(stack.getItem());
+            if (bucket == null) {
+                candidates = CraftingRecipeIndex.EMPTY;
+                break;
+            }
+            if (candidates == null || bucket.length < candidates.length) candidates = bucket;
+        }
+        if (candidates == null) candidates = CraftingRecipeIndex.EMPTY;
+
+        IRecipe found = null;
+        // merge the rarest bucket with the catch-all one
+        int a = 0, b = 0;
+        while (a < candidates.length || b < this.catchAll.length) {
+            int next;
+            if (b >= this.catchAll.length || a < candidates.length && candidates[a] < this.catchAll[b])
+                next = candidates[a++];
+            else next = this.catchAll[b++];
+
+            IRecipe recipe = this.recipes[next];
+            if (recipe == null || !recipe.matches(inventoryCrafting, world)) continue;
+            if (found != null) {
+                if (unique != null) unique[0] = false;
+                return found;
+            }
+            found = recipe;
+            if (unique == null) return found;
+        }
+        if (unique != null) unique[0] = found != null;
+        return found;
+    }
+}
@@ -0,0 +1,118 @@
+package com.github.bartimaeusnek.bartworks.util;
+
+import java.util.Arrays;
+
+/**
+ * Small open-addressing int to long map without boxing. Entries are stored densely in insertion order, so every key
+ * gets a stable index in [0, size) that callers can use for their own parallel arrays. Meant to be reused: clear()
+ * keeps the allocated storage.
+ */
+public class IntLongHashMap {
+
+    private static final int EMPTY = -1;
+
+    private int[] table;
+    private int[] keys;
+    private long[] values;
+    private int size;
+    private int mask;
+
+    public IntLongHashMap() {
+        this(16);
+    }
+
+    public IntLongHashMap(int expected) {
+        int cap = Integer.highestOneBit(Math.max(4, expected) - 1) << 2;
+        this.table = new int[cap];
+        Arrays.fill(this.table, EMPTY);
+        this.mask = cap - 1;
+        this.keys = new int[Math.max(4, expected)];
+        this.values = new long[this.keys.length];
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ h >>> 16;
+    }
+
+    /**
+     * @return the dense index of the key, or -1 if it is not present
+     */
+    public int indexOf(int key) {
+        for (int pos = mix(key) & this.mask;; pos = pos + 1 & this.mask) {
+            int idx = this.table[pos];
+            if (idx == EMPTY) return -1;
+            if (this.keys[idx] == key) return idx;
+        }
+    }
+
+    /**
+     * Adds the delta to the value of the key, inserting it with value 0 first if needed.
+     *
+     * @return the dense index of the key
+     */
+    public int addTo(int key, long delta) {
+        int pos = mix(key) & this.mask;
+        for (;; pos = pos + 1 & this.mask) {
+            int idx = this.table[pos];
+            if (idx == EMPTY) break;
+            if (this.keys[idx] == key) {
+                this.values[idx] += delta;
+                return idx;
+            }
+        }
+        int idx = this.size++;
+        if (idx == this.keys.length) {
+            this.keys = Arrays.copyOf(this.keys, idx << 1);
+            this.values = Arrays.copyOf(this.values, idx << 1);
+        }
+        this.keys[idx] = key;
+        this.values[idx] = delta;
+        this.table[pos] = idx;
+        if (this.size << 1 > this.table.length) this.rehash();
+        return idx;
+    }
+
+    public long get(int key) {
+        int idx = this.indexOf(key);
+        return idx < 0 ? 0L : this.values[idx];
+    }
+
+    public boolean containsKey(int key) {
+        return this.indexOf(key) >= 0;
+    }
+
+    public int keyAt(int index) {
+        return this.keys[index];
+    }
+
+    public long valueAt(int index) {
+        return this.values[index];
+    }
+
+    public void setValueAt(int index, long value) {
+        this.values[index] = value;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public void clear() {
+        if (this.size == 0) return;
+        Arrays.fill(this.table, EMPTY);
+        this.size = 0;
+    }
+
+    private void rehash() {
+        int cap = this.table.length << 1;
+        this.table = new int[cap];
+        Arrays.fill(this.table, EMPTY);
+        this.mask = cap - 1;
+        for (int idx = 0; idx < this.size; idx++) {
+            int pos = mix(this.keys[idx]) & this.mask;
+            while (this.table[pos] != EMPTY) pos = pos + 1 & this.mask;
+            this.table[pos] = idx;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.github.bartimaeusnek.bartworks.util;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing set of primitive longs, mainly used for block positions packed with {@link Coords#pack}. Iterate
+ * with
+ *
+ * <pre>
+ * for (int i = 0; i &lt; set.capacity(); i++) if (set.isUsed(i)) doSomething(set.getAt(i));
+ * </pre>
+ */
+public class LongOpenHashSet {
+
+    private static final long FREE = 0L;
+
+    private long[] table;
+    private int mask;
+    private int size;
+    private boolean hasFreeKey;
+
+    public LongOpenHashSet() {
+        this(16);
+    }
+
+    public LongOpenHashSet(int expected) {
+        int cap = Integer.highestOneBit(Math.max(4, expected) - 1) << 2;
+        this.table = new long[cap];
+        this.mask = cap - 1;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ h >>> 32);
+    }
+
+    public boolean add(long key) {
+        if (key == FREE) {
+            if (this.hasFreeKey) return false;
+            this.hasFreeKey = true;
+            this.size++;
+            return true;
+        }
+        int pos = mix(key) & this.mask;
+        for (long cur; (cur = this.table[pos]) != FREE; pos = pos + 1 & this.mask) if (cur == key) return false;
+        this.table[pos] = key;
+        if (++this.size << 1 > this.table.length) this.rehash(this.table.length << 1);
+        return true;
+    }
+
+    public boolean contains(long key) {
+        if (key == FREE) return this.hasFreeKey;
+        for (int pos = mix(key) & this.mask;; pos = pos + 1 & this.mask) {
+            long cur = this.table[pos];
+            if (cur == FREE) return false;
+            if (cur == key) return true;
+        }
+    }
+
+    public boolean remove(long key) {
+        if (key == FREE) {
+            if (!this.hasFreeKey) return false;
+            this.hasFreeKey = false;
+            this.size--;
+            return true;
+        }
+        int pos = mix(key) & this.mask;
+        for (long cur; (cur = this.table[pos]) != key; pos = pos + 1 & this.mask) if (cur == FREE) return false;
+        this.size--;
+        // backward shift deletion, keeps probe chains intact without tombstones
+        for (int last = pos;;) {
+            pos = pos + 1 & this.mask;
+            long cur = this.table[pos];
+            if (cur == FREE) {
+                this.table[last] = FREE;
+                return true;
+            }
+            int home = mix(cur) & this.mask;
+            if (last <= pos ? last >= home || home > pos : last >= home && home > pos) {
+                this.table[last] = cur;
+                last = pos;
+            }
+        }
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public void clear() {
+        if (this.size == 0) return;
+        Arrays.fill(this.table, FREE);
+        this.hasFreeKey = false;
+        this.size = 0;
+    }
+
+    /**
+     * @return the number of slots, including the extra slot for the key 0
+     */
+    public int capacity() {
+        return this.table.length + 1;
+    }
+
+    public boolean isUsed(int slot) {
+        return slot == this.table.length ? this.hasFreeKey : this.table[slot] != FREE;
+    }
+
+    public long getAt(int slot) {
+        return slot == this.table.length ? FREE : this.table[slot];
+    }
+
+    public long[] toArray() {
+        long[] ret = new long[this.size];
+        int i = 0;
+        if (this.hasFreeKey) ret[i++] = FREE;
+        for (long cur : this.table) if (cur != FREE) ret[i++] = cur;
+        return ret;
+    }
+
+    private void rehash(int cap) {
+        long[] old = this.table;
+        this.table = new long[cap];
+        this.mask = cap - 1;
+        for (long cur : old) {
+            if (cur == FREE) continue;
+            int pos = mix(cur) & this.mask;
+            while (this.table[pos] != FREE) pos = pos + 1 & this.mask;
+            this.table[pos] = cur;
+        }
+    }
+}
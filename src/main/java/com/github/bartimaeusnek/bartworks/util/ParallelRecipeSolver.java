@@ -0,0 +1,200 @@
+package com.github.bartimaeusnek.bartworks.util;
+
+import java.util.Arrays;
+
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.fluids.FluidStack;
+
+import gregtech.api.util.GT_OreDictUnificator;
+import gregtech.api.util.GT_Recipe;
+import gregtech.api.util.GT_Utility;
+
+/**
+ * Reusable parallel calculator for machines with very high parallel. Keep one instance per machine, it holds all
+ * scratch tables so a call does not allocate once the tables have grown to the size of the machine's buses.
+ * <p>
+ * The recipe side is compressed once per {@link GT_Recipe} and kept until a different recipe is passed in or the
+ * inputs of the kept one change. While counting, every input slot that matches a recipe entry is remembered, so
+ * consuming only walks those slots and never repeats the OreDict matching.
+ * <p>
+ * Not thread safe.
+ */
+public class ParallelRecipeSolver {
+
+    private static final FluidStack[] NO_FLUIDS = new FluidStack[0];
+    private static final ItemStack[] NO_ITEMS = new ItemStack[0];
+
+    /* Recipe side, rebuilt only when the recipe changes */
+    private GT_Recipe mCompiledRecipe;
+    // the input arrays and their contents at compile time, GT_Recipe fields are public and get changed in place
+    private ItemStack[] mCompiledInputs;
+    private FluidStack[] mCompiledFluidInputs;
+    private int mCompiledHash;
+    private final IntLongHashMap mRecipeFluids = new IntLongHashMap(4);
+    private final IntLongHashMap mRecipeItems = new IntLongHashMap(8);
+    private ItemStack[] mRecipeItemStacks = new ItemStack[8];
+
+    /* Input side, cleared every call */
+    private final IntLongHashMap mInputFluids = new IntLongHashMap(8);
+    private final IntLongHashMap mInputItems = new IntLongHashMap(32);
+    private ItemStack[] mInputItemStacks = new ItemStack[32];
+    private int[] mFirstSlot = new int[32];
+    private int[] mLastSlot = new int[32];
+    private int[] mNextSlot = new int[64];
+
+    /* Matches of recipe entry r are mMatches[mMatchStart[r] .. mMatchStart[r + 1]) */
+    private int[] mMatchStart = new int[9];
+    private int[] mMatches = new int[64];
+
+    /**
+     * Calculates the parallel and consumes the inputs, see
+     * {@link RecipeFinderForParallel#handleParallelRecipe(GT_Recipe, FluidStack[], ItemStack[], int)}.
+     *
+     * @param aRecipe      The target recipe that you want calculate the parallel
+     * @param aFluidInputs The input fluid from machine
+     * @param aItemStacks  The input item from machine
+     * @param aMaxParallel The max parallel that it can reach
+     * @return The parallel that it can reach
+     */
+    public int solve(GT_Recipe aRecipe, FluidStack[] aFluidInputs, ItemStack[] aItemStacks, int aMaxParallel) {
+        if (aFluidInputs == null) aFluidInputs = NO_FLUIDS;
+        if (aItemStacks == null) aItemStacks = NO_ITEMS;
+        int tRecipeHash = hashInputs(aRecipe);
+        if (aRecipe != this.mCompiledRecipe || aRecipe.mInputs != this.mCompiledInputs
+                || aRecipe.mFluidInputs != this.mCompiledFluidInputs
+                || tRecipeHash != this.mCompiledHash) this.compileRecipe(aRecipe, tRecipeHash);
+        this.compressInputs(aFluidInputs, aItemStacks);
+
+        long tCurrentPara = aMaxParallel;
+        for (int r = 0; r < this.mRecipeFluids.size(); r++) {
+            long tNeeded = this.mRecipeFluids.valueAt(r);
+            int tIndex = this.mInputFluids.indexOf(this.mRecipeFluids.keyAt(r));
+            if (tNeeded != 0 && tIndex >= 0)
+                tCurrentPara = Math.min(tCurrentPara, this.mInputFluids.valueAt(tIndex) / tNeeded);
+        }
+
+        int tRecipeItems = this.mRecipeItems.size();
+        int tMatchCount = 0;
+        for (int r = 0; r < tRecipeItems; r++) {
+            this.mMatchStart[r] = tMatchCount;
+            int tItem = this.mRecipeItems.keyAt(r);
+            long tNeeded = this.mRecipeItems.valueAt(r);
+            boolean tWildcard = tItem >> 16 == Short.MAX_VALUE;
+            if (tNeeded == 0) continue;
+            long tCount = 0;
+            for (int d = 0; d < this.mInputItems.size(); d++) {
+                boolean tMatches = tWildcard ? (this.mInputItems.keyAt(d) & 0xffff) == (tItem & 0xffff)
+                        /* OreDict Stuff */
+                        : GT_OreDictUnificator.isInputStackEqual(this.mInputItemStacks[d], this.mRecipeItemStacks[r]);
+                if (!tMatches) continue;
+                tCount += this.mInputItems.valueAt(d);
+                if (tMatchCount == this.mMatches.length)
+                    this.mMatches = Arrays.copyOf(this.mMatches, tMatchCount << 1);
+                this.mMatches[tMatchCount++] = d;
+            }
+            tCurrentPara = Math.min(tCurrentPara, tCount / tNeeded);
+        }
+        this.mMatchStart[tRecipeItems] = tMatchCount;
+
+        int tParallel = (int) Math.max(0, tCurrentPara);
+        if (tParallel == 0) return 0;
+
+        for (int r = 0; r < this.mRecipeFluids.size(); r++) {
+            long tRemaining = this.mRecipeFluids.valueAt(r) * tParallel;
+            int tFluidID = this.mRecipeFluids.keyAt(r);
+            for (int i = 0; i < aFluidInputs.length && tRemaining > 0; i++) {
+                FluidStack tFluid = aFluidInputs[i];
+                if (tFluid == null || tFluid.getFluidID() != tFluidID) continue;
+                int tTaken = (int) Math.min(tRemaining, tFluid.amount);
+                tFluid.amount -= tTaken;
+                tRemaining -= tTaken;
+            }
+        }
+
+        for (int r = 0; r < tRecipeItems; r++) {
+            long tRemaining = this.mRecipeItems.valueAt(r) * tParallel;
+            for (int m = this.mMatchStart[r]; m < this.mMatchStart[r + 1] && tRemaining > 0; m++) {
+                for (int s = this.mFirstSlot[this.mMatches[m]]; s >= 0 && tRemaining > 0; s = this.mNextSlot[s]) {
+                    ItemStack tInput = aItemStacks[s];
+                    int tTaken = (int) Math.min(tRemaining, tInput.stackSize);
+                    tInput.stackSize -= tTaken;
+                    tRemaining -= tTaken;
+                }
+            }
+        }
+
+        return tParallel;
+    }
+
+    private static int hashInputs(GT_Recipe aRecipe) {
+        int tHash = 1;
+        if (aRecipe.mFluidInputs != null) for (FluidStack tFluid : aRecipe.mFluidInputs) {
+            tHash = 31 * tHash + (tFluid == null ? 0 : tFluid.getFluidID());
+            tHash = 31 * tHash + (tFluid == null ? 0 : tFluid.amount);
+        }
+        if (aRecipe.mInputs != null) for (ItemStack tItem : aRecipe.mInputs) {
+            tHash = 31 * tHash + (tItem == null ? 0 : GT_Utility.stackToInt(tItem));
+            tHash = 31 * tHash + (tItem == null ? 0 : tItem.stackSize);
+        }
+        return tHash;
+    }
+
+    private void compileRecipe(GT_Recipe aRecipe, int aRecipeHash) {
+        this.mRecipeFluids.clear();
+        this.mRecipeItems.clear();
+        if (aRecipe.mFluidInputs != null) for (FluidStack tFluid : aRecipe.mFluidInputs)
+            if (tFluid != null) this.mRecipeFluids.addTo(tFluid.getFluidID(), tFluid.amount);
+        if (aRecipe.mInputs != null) for (ItemStack tItem : aRecipe.mInputs)
+            if (tItem != null) this.mRecipeItems.addTo(GT_Utility.stackToInt(tItem), tItem.stackSize);
+
+        int tSize = this.mRecipeItems.size();
+        if (this.mRecipeItemStacks.length < tSize) this.mRecipeItemStacks = new ItemStack[tSize];
+        if (this.mMatchStart.length <= tSize) this.mMatchStart = new int[tSize + 1];
+        for (int r = 0; r < tSize; r++) this.mRecipeItemStacks[r] = GT_Utility.intToStack(this.mRecipeItems.keyAt(r));
+        this.mCompiledRecipe = aRecipe;
+        this.mCompiledInputs = aRecipe.mInputs;
+        this.mCompiledFluidInputs = aRecipe.mFluidInputs;
+        this.mCompiledHash = aRecipeHash;
+    }
+
+    private void compressInputs(FluidStack[] aFluidInputs, ItemStack[] aItemStacks) {
+        this.mInputFluids.clear();
+        for (FluidStack tFluid : aFluidInputs)
+            if (tFluid != null) this.mInputFluids.addTo(tFluid.getFluidID(), tFluid.amount);
+
+        this.mInputItems.clear();
+        if (this.mNextSlot.length < aItemStacks.length) this.mNextSlot = new int[aItemStacks.length];
+        for (int s = 0; s < aItemStacks.length; s++) {
+            ItemStack tItem = aItemStacks[s];
+            if (tItem == null) continue;
+            int tSizeBefore = this.mInputItems.size();
+            int d = this.mInputItems.addTo(GT_Utility.stackToInt(tItem), tItem.stackSize);
+            this.mNextSlot[s] = -1;
+            if (d == tSizeBefore) {
+                if (d == this.mFirstSlot.length) {
+                    this.mFirstSlot = Arrays.copyOf(this.mFirstSlot, d << 1);
+                    this.mLastSlot = Arrays.copyOf(this.mLastSlot, d << 1);
+                    this.mInputItemStacks = Arrays.copyOf(this.mInputItemStacks, d << 1);
+                }
+                this.mInputItemStacks[d] = tItem;
+                this.mFirstSlot[d] = s;
+            } else {
+                this.mNextSlot[this.mLastSlot[d]] = s;
+            }
+            this.mLastSlot[d] = s;
+        }
+    }
+
+    /**
+     * Drops the references to the last recipe and input stacks, e.g. when the machine gets unloaded.
+     */
+    public void reset() {
+        this.mCompiledRecipe = null;
+        this.mCompiledInputs = null;
+        this.mCompiledFluidInputs = null;
+        this.mRecipeFluids.clear();
+        this.mRecipeItems.clear();
+        Arrays.fill(this.mRecipeItemStacks, null);
+        Arrays.fill(this.mInputItemStacks, null);
+    }
+}
@@ -2,12 +2,10 @@ package com.github.bartimaeusnek.bartworks.util;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
 
 import net.minecraft.item.ItemStack;
 import net.minecraftforge.fluids.FluidStack;
 
-import gregtech.api.util.GT_OreDictUnificator;
 import gregtech.api.util.GT_Recipe;
 import gregtech.api.util.GT_Utility;
 
@@ -18,9 +16,15 @@ import gregtech.api.util.GT_Utility;
  */
 public class RecipeFinderForParallel {
 
+    // only the scratch tables are reused, the solver is reset after every call so it keeps no recipe or stacks alive
+    private static final ThreadLocal<ParallelRecipeSolver> SOLVER = ThreadLocal.withInitial(ParallelRecipeSolver::new);
+
     /**
      * This method is used for mega multis which have extremely high parallel. Never use it for non parallel machines,
      * it will have worse performance. It will auto consume the inputs.
+     * <p>
+     * Machines calling this often should keep their own {@link ParallelRecipeSolver} instead, so the compiled recipe
+     * is kept between calls, and {@link ParallelRecipeSolver#reset()} it when they get unloaded.
      *
      * @param aRecipe      The target recipe that you want calculate the parallel
      * @param aFluidInputs The input fluid from machine
@@ -30,101 +34,12 @@ public class RecipeFinderForParallel {
      */
     public static int handleParallelRecipe(GT_Recipe aRecipe, FluidStack[] aFluidInputs, ItemStack[] aItemStacks,
             int aMaxParallel) {
-        if (aFluidInputs == null) aFluidInputs = new FluidStack[0];
-        if (aItemStacks == null) aItemStacks = new ItemStack[0];
-        HashMap<Integer, Integer> tCompressedFluidInput = compressFluid(aFluidInputs);
-        HashMap<Integer, Integer> tCompressedItemInput = compressItem(aItemStacks);
-        HashMap<Integer, Integer> tCompressedFluidRecipe = compressFluid(aRecipe.mFluidInputs);
-        HashMap<Integer, Integer> tCompressedItemRecipe = compressItem(aRecipe.mInputs);
-        int tCurrentPara = aMaxParallel;
-        for (int tFluid : tCompressedFluidRecipe.keySet()) {
-            if (tCompressedFluidInput.containsKey(tFluid) && tCompressedFluidRecipe.get(tFluid) != 0) {
-                tCurrentPara = Math
-                        .min(tCurrentPara, tCompressedFluidInput.get(tFluid) / tCompressedFluidRecipe.get(tFluid));
-            }
-        }
-        for (int tItem : tCompressedItemRecipe.keySet()) {
-            /* Wildcard Stuff */
-            if (tItem >> 16 == Short.MAX_VALUE) {
-                int tCountWildcard = 0;
-                for (int tInputItem : tCompressedItemInput.keySet()) {
-                    if ((tInputItem & 0xffff) == (tItem & 0xffff)) {
-                        tCountWildcard += tCompressedItemInput.get(tInputItem);
-                    }
-                }
-                tCurrentPara = Math.min(tCurrentPara, tCountWildcard / tCompressedItemRecipe.get(tItem));
-            } else if (tCompressedItemRecipe.get(tItem) != 0) {
-                /* OreDict Stuff */
-                int tCountOre = 0;
-                ItemStack tRealRecipe = GT_Utility.intToStack(tItem);
-                for (int tInputItem : tCompressedItemInput.keySet()) {
-                    ItemStack tRealStack = GT_Utility.intToStack(tInputItem);
-                    if (GT_OreDictUnificator.isInputStackEqual(tRealStack, tRealRecipe)) {
-                        tCountOre += tCompressedItemInput.get(tInputItem);
-                    }
-                }
-                tCurrentPara = Math.min(tCurrentPara, tCountOre / tCompressedItemRecipe.get(tItem));
-            }
-        }
-
-        for (int tFluid : tCompressedFluidRecipe.keySet()) {
-            int tOldSize = tCompressedFluidRecipe.get(tFluid);
-            tCompressedFluidRecipe.put(tFluid, tOldSize * tCurrentPara);
-        }
-        for (int tItem : tCompressedItemRecipe.keySet()) {
-            int tOldSize = tCompressedItemRecipe.get(tItem);
-            tCompressedItemRecipe.put(tItem, tOldSize * tCurrentPara);
-        }
-
-        for (FluidStack tFluid : aFluidInputs) {
-            if (tFluid != null && tCompressedFluidRecipe.containsKey(tFluid.getFluidID())) {
-                if (tFluid.amount >= tCompressedFluidRecipe.get(tFluid.getFluidID())) {
-                    tFluid.amount -= tCompressedFluidRecipe.get(tFluid.getFluidID());
-                    tCompressedFluidRecipe.remove(tFluid.getFluidID());
-                } else {
-                    tCompressedFluidRecipe
-                            .put(tFluid.getFluidID(), tCompressedFluidRecipe.get(tFluid.getFluidID()) - tFluid.amount);
-                    tFluid.amount = 0;
-                }
-            }
-        }
-
-        /* OreDict Stuff */
-        /* Wildcard Stuff */
-        for (Iterator<Integer> i = tCompressedItemRecipe.keySet().iterator(); i.hasNext();) {
-            int tItem = i.next();
-            if (tItem >> 16 == Short.MAX_VALUE) {
-                for (ItemStack tInputItem : aItemStacks) {
-                    int InputID = GT_Utility.stackToInt(tInputItem);
-                    if ((InputID & 0xffff) == (tItem & 0xffff)) {
-                        if (tInputItem.stackSize >= tCompressedItemRecipe.get(tItem)) {
-                            tInputItem.stackSize -= tCompressedItemRecipe.get(tItem);
-                            i.remove();
-                            break;
-                        }
-                        tCompressedItemRecipe.put(tItem, tCompressedItemRecipe.get(tItem) - tInputItem.stackSize);
-                        tInputItem.stackSize = 0;
-                    }
-                }
-            } else {
-                ItemStack tRealRecipe = GT_Utility.intToStack(tItem);
-                int tTargetAmount = tCompressedItemRecipe.get(tItem);
-                for (ItemStack input : aItemStacks) {
-                    if (GT_OreDictUnificator.isInputStackEqual(input, tRealRecipe)) {
-                        int d = Math.min(tTargetAmount, input.stackSize);
-                        tTargetAmount -= d;
-                        tCompressedItemRecipe.put(tItem, tTargetAmount);
-                        input.stackSize -= d;
-                    }
-                    if (tTargetAmount == 0) {
-                        i.remove();
-                        break;
-                    }
-                }
-            }
+        ParallelRecipeSolver tSolver = SOLVER.get();
+        try {
+            return tSolver.solve(aRecipe, aFluidInputs, aItemStacks, aMaxParallel);
+        } finally {
+            tSolver.reset();
         }
-
-        return tCurrentPara;
     }
 
     /**
@@ -0,0 +1,276 @@
+package com.github.bartimaeusnek.bartworks.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import net.minecraft.init.Items;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.fluids.FluidStack;
+
+import gregtech.api.enums.GT_Values;
+import gregtech.api.util.GT_Recipe;
+import gregtech.api.util.GT_Recipe.GT_Recipe_Map;
+import gregtech.api.util.GT_Utility;
+
+/**
+ * Reverse index from item and fluid identity to every recipe slot in {@link GT_Recipe_Map#sMappings} holding it, for
+ * the load-time passes that rewrite the recipes of other mods. The first {@link #get()} sweeps all maps once, later
+ * calls only pick up recipes that were added or removed in between.
+ * <p>
+ * Slots of indexed recipes have to be changed through {@link #setItem}/{@link #setFluid}, or {@link #update} has to
+ * be called afterwards. Recipes have to be removed through {@link #remove}.
+ */
+public class RecipeOccurrenceIndex {
+
+    public static final byte INPUT = 0;
+    public static final byte OUTPUT = 1;
+    public static final byte SPECIAL = 2;
+    public static final byte FLUID_INPUT = 3;
+    public static final byte FLUID_OUTPUT = 4;
+
+    private static RecipeOccurrenceIndex shared;
+
+    private final IdentityHashMap<Item, HashMap<Integer, List<Occurrence>>> mItems = new IdentityHashMap<>();
+    private final HashMap<Integer, List<Occurrence>> mFluids = new HashMap<>();
+    private final IdentityHashMap<GT_Recipe_Map, IdentityHashMap<GT_Recipe, List<Occurrence>>> mRecipes = new IdentityHashMap<>();
+
+    public static class Occurrence {
+
+        public final GT_Recipe_Map map;
+        public final GT_Recipe recipe;
+        public final byte kind;
+        public final int slot;
+
+        // the bucket this occurrence is filed under, the slot may have been changed behind our back
+        private Item mFiledItem;
+        private int mFiledKey;
+
+        private Occurrence(GT_Recipe_Map map, GT_Recipe recipe, byte kind, int slot) {
+            this.map = map;
+            this.recipe = recipe;
+            this.kind = kind;
+            this.slot = slot;
+        }
+
+        public boolean isFluid() {
+            return this.kind >= FLUID_INPUT;
+        }
+
+        public ItemStack getItem() {
+            return switch (this.kind) {
+                case INPUT -> this.recipe.mInputs[this.slot];
+                case OUTPUT -> this.recipe.mOutputs[this.slot];
+                case SPECIAL -> this.recipe.mSpecialItems instanceof ItemStack stack ? stack : null;
+                default -> null;
+            };
+        }
+
+        public FluidStack getFluid() {
+            return switch (this.kind) {
+                case FLUID_INPUT -> this.recipe.mFluidInputs[this.slot];
+                case FLUID_OUTPUT -> this.recipe.mFluidOutputs[this.slot];
+                default -> null;
+            };
+        }
+    }
+
+    private RecipeOccurrenceIndex() {}
+
+    /**
+     * @return the shared index, built on first use and brought up to date with the recipe maps on every call
+     */
+    public static RecipeOccurrenceIndex get() {
+        if (RecipeOccurrenceIndex.shared == null) RecipeOccurrenceIndex.shared = new RecipeOccurrenceIndex();
+        RecipeOccurrenceIndex.shared.refresh();
+        return RecipeOccurrenceIndex.shared;
+    }
+
+    /**
+     * Frees the shared index once the load-time passes are done.
+     */
+    public static void release() {
+        RecipeOccurrenceIndex.shared = null;
+    }
+
+    private void refresh() {
+        for (GT_Recipe_Map map : GT_Recipe_Map.sMappings) {
+            IdentityHashMap<GT_Recipe, List<Occurrence>> indexed = this.mRecipes
+                    .computeIfAbsent(map, k -> new IdentityHashMap<>());
+            int live = 0;
+            for (GT_Recipe recipe : map.mRecipeList) {
+                if (!indexed.containsKey(recipe)) indexed.put(recipe, this.index(map, recipe));
+                live++;
+            }
+            if (indexed.size() <= live) continue;
+            Set<GT_Recipe> present = Collections.newSetFromMap(new IdentityHashMap<>());
+            present.addAll(map.mRecipeList);
+            for (Iterator<Map.Entry<GT_Recipe, List<Occurrence>>> it = indexed.entrySet().iterator(); it.hasNext();) {
+                Map.Entry<GT_Recipe, List<Occurrence>> entry = it.next();
+                if (present.contains(entry.getKey())) continue;
+                entry.getValue().forEach(this::unfile);
+                it.remove();
+            }
+        }
+    }
+
+    private List<Occurrence> index(GT_Recipe_Map map, GT_Recipe recipe) {
+        List<Occurrence> ret = new ArrayList<>();
+        if (recipe.mInputs != null) for (int i = 0; i < recipe.mInputs.length; i++)
+            if (recipe.mInputs[i] != null) ret.add(new Occurrence(map, recipe, INPUT, i));
+        if (recipe.mOutputs != null) for (int i = 0; i < recipe.mOutputs.length; i++)
+            if (recipe.mOutputs[i] != null) ret.add(new Occurrence(map, recipe, OUTPUT, i));
+        if (recipe.mSpecialItems instanceof ItemStack) ret.add(new Occurrence(map, recipe, SPECIAL, 0));
+        if (recipe.mFluidInputs != null) for (int i = 0; i < recipe.mFluidInputs.length; i++)
+            if (recipe.mFluidInputs[i] != null) ret.add(new Occurrence(map, recipe, FLUID_INPUT, i));
+        if (recipe.mFluidOutputs != null) for (int i = 0; i < recipe.mFluidOutputs.length; i++)
+            if (recipe.mFluidOutputs[i] != null) ret.add(new Occurrence(map, recipe, FLUID_OUTPUT, i));
+        ret.forEach(this::file);
+        return ret;
+    }
+
+    private void file(Occurrence occurrence) {
+        List<Occurrence> bucket = null;
+        if (occurrence.isFluid()) {
+            FluidStack fluid = occurrence.getFluid();
+            if (fluid != null && fluid.getFluid() != null) {
+                occurrence.mFiledKey = fluid.getFluidID();
+                bucket = this.mFluids.computeIfAbsent(occurrence.mFiledKey, k -> new ArrayList<>(4));
+            }
+        } else {
+            ItemStack stack = occurrence.getItem();
+            if (stack != null && stack.getItem() != null) {
+                occurrence.mFiledItem = stack.getItem();
+                occurrence.mFiledKey = Items.feather.getDamage(stack);
+                bucket = this.mItems.computeIfAbsent(occurrence.mFiledItem, k -> new HashMap<>())
+                        .computeIfAbsent(occurrence.mFiledKey, k -> new ArrayList<>(4));
+            }
+        }
+        if (bucket != null) bucket.add(occurrence);
+        else occurrence.mFiledKey = -1;
+    }
+
+    private void unfile(Occurrence occurrence) {
+        List<Occurrence> bucket = null;
+        if (occurrence.isFluid()) {
+            if (occurrence.mFiledKey != -1) bucket = this.mFluids.get(occurrence.mFiledKey);
+        } else if (occurrence.mFiledItem != null) {
+            HashMap<Integer, List<Occurrence>> metas = this.mItems.get(occurrence.mFiledItem);
+            if (metas != null) bucket = metas.get(occurrence.mFiledKey);
+        }
+        if (bucket != null) bucket.remove(occurrence);
+        occurrence.mFiledItem = null;
+        occurrence.mFiledKey = -1;
+    }
+
+    /**
+     * @return every item slot holding a stack {@link GT_Utility#areStacksEqual(ItemStack, ItemStack)} to aStack,
+     *         wildcard metas included
+     */
+    public List<Occurrence> find(ItemStack aStack) {
+        List<Occurrence> ret = new ArrayList<>();
+        if (aStack == null || aStack.getItem() == null) return ret;
+        HashMap<Integer, List<Occurrence>> metas = this.mItems.get(aStack.getItem());
+        if (metas == null) return ret;
+        int meta = Items.feather.getDamage(aStack);
+        if (meta == GT_Values.W) {
+            for (List<Occurrence> bucket : metas.values()) collect(bucket, aStack, ret);
+        } else {
+            collect(metas.get(meta), aStack, ret);
+            collect(metas.get((int) GT_Values.W), aStack, ret);
+        }
+        return ret;
+    }
+
+    private static void collect(List<Occurrence> bucket, ItemStack aStack, List<Occurrence> ret) {
+        if (bucket != null) for (Occurrence occurrence : bucket)
+            if (GT_Utility.areStacksEqual(occurrence.getItem(), aStack)) ret.add(occurrence);
+    }
+
+    /**
+     * @return every fluid slot holding a fluid {@link GT_Utility#areFluidsEqual(FluidStack, FluidStack)} to aFluid
+     */
+    public List<Occurrence> find(FluidStack aFluid) {
+        List<Occurrence> ret = new ArrayList<>();
+        if (aFluid == null || aFluid.getFluid() == null) return ret;
+        List<Occurrence> bucket = this.mFluids.get(aFluid.getFluidID());
+        if (bucket != null) for (Occurrence occurrence : bucket)
+            if (GT_Utility.areFluidsEqual(occurrence.getFluid(), aFluid)) ret.add(occurrence);
+        return ret;
+    }
+
+    /**
+     * Calls the consumer once per distinct item and meta found in any slot, with one of its stacks and all slots
+     * holding it regardless of NBT. The consumer must not change the index.
+     */
+    public void forEachItem(BiConsumer<ItemStack, List<Occurrence>> consumer) {
+        for (HashMap<Integer, List<Occurrence>> metas : this.mItems.values())
+            for (List<Occurrence> bucket : metas.values()) if (!bucket.isEmpty())
+                consumer.accept(bucket.get(0).getItem(), Collections.unmodifiableList(bucket));
+    }
+
+    public void setItem(Occurrence occurrence, ItemStack stack) {
+        this.unfile(occurrence);
+        switch (occurrence.kind) {
+            case INPUT -> occurrence.recipe.mInputs[occurrence.slot] = stack;
+            case OUTPUT -> occurrence.recipe.mOutputs[occurrence.slot] = stack;
+            case SPECIAL -> occurrence.recipe.mSpecialItems = stack;
+            default -> throw new IllegalArgumentException("Not an item slot: " + occurrence.kind);
+        }
+        this.file(occurrence);
+    }
+
+    public void setFluid(Occurrence occurrence, FluidStack fluid) {
+        this.unfile(occurrence);
+        switch (occurrence.kind) {
+            case FLUID_INPUT -> occurrence.recipe.mFluidInputs[occurrence.slot] = fluid;
+            case FLUID_OUTPUT -> occurrence.recipe.mFluidOutputs[occurrence.slot] = fluid;
+            default -> throw new IllegalArgumentException("Not a fluid slot: " + occurrence.kind);
+        }
+        this.file(occurrence);
+    }
+
+    /**
+     * Re-indexes a recipe whose slots were changed directly.
+     */
+    public void update(GT_Recipe_Map map, GT_Recipe recipe) {
+        IdentityHashMap<GT_Recipe, List<Occurrence>> indexed = this.mRecipes
+                .computeIfAbsent(map, k -> new IdentityHashMap<>());
+        List<Occurrence> old = indexed.remove(recipe);
+        if (old != null) old.forEach(this::unfile);
+        indexed.put(recipe, this.index(map, recipe));
+    }
+
+    /**
+     * Removes the recipes from the map and the index.
+     */
+    public void remove(GT_Recipe_Map map, Collection<GT_Recipe> recipes) {
+        if (recipes.isEmpty()) return;
+        map.mRecipeList.removeAll(recipes);
+        IdentityHashMap<GT_Recipe, List<Occurrence>> indexed = this.mRecipes.get(map);
+        if (indexed == null) return;
+        for (GT_Recipe recipe : recipes) {
+            List<Occurrence> old = indexed.remove(recipe);
+            if (old != null) old.forEach(this::unfile);
+        }
+    }
+
+    /**
+     * Removes every recipe having one of the occurrences, see {@link #remove(GT_Recipe_Map, Collection)}.
+     */
+    public void removeRecipesOf(List<Occurrence> occurrences) {
+        IdentityHashMap<GT_Recipe_Map, Set<GT_Recipe>> byMap = new IdentityHashMap<>();
+        for (Occurrence occurrence : occurrences)
+            byMap.computeIfAbsent(occurrence.map, k -> new HashSet<>()).add(occurrence.recipe);
+        byMap.forEach(this::remove);
+    }
+}
@@ -89,6 +89,27 @@ public class AccessPriorityList<E> implements List<E>, Deque<E>, Set<E> {
         return last;
     }
 
+    /**
+     * Unlinks a node of this list, wherever it is.
+     */
+    public void removeNode(AccessPriorityListNode<E> node) {
+        AccessPriorityListNode<E> before = node.getBefore();
+        AccessPriorityListNode<E> next = node.getNext();
+        if (before == null) this.head = next;
+        else before.setNext(next);
+        if (next == null) this.tail = before;
+        else next.setBefore(before);
+        node.destroy();
+        this.size--;
+    }
+
+    /**
+     * @return the node of the last element, e.g. the one just added by {@link #addLast(Object)}
+     */
+    public AccessPriorityListNode<E> getLastNode() {
+        return this.tail;
+    }
+
     @Override
     public E pollFirst() {
         throw new NotImplementedException("");
@@ -26,6 +26,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -42,6 +43,7 @@ import com.github.bartimaeusnek.bartworks.common.configs.ConfigHandler;
 import com.github.bartimaeusnek.bartworks.system.material.Werkstoff;
 import com.github.bartimaeusnek.bartworks.system.material.WerkstoffLoader;
 import com.github.bartimaeusnek.bartworks.system.oregen.BW_OreLayer;
+import com.github.bartimaeusnek.bartworks.util.AliasTable;
 import com.github.bartimaeusnek.bartworks.util.Pair;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableList;
@@ -73,8 +75,16 @@ public abstract class GT_TileEntity_VoidMiner_Base extends GT_MetaTileEntity_Dri
             WerkstoffLoader.Krypton.getFluidOrGas(1), WerkstoffLoader.Xenon.getFluidOrGas(1),
             WerkstoffLoader.Oganesson.getFluidOrGas(1) };
 
+    /*
+     * drop tables are the same for every VM in a dimension, they get rebuilt when the extra drops or the blacklist
+     * change
+     */
+    private static final Map<Integer, AliasTable<Pair<Integer, Boolean>>> DROP_TABLES = new HashMap<>();
+    private static Set<String> dropTablesBlacklist;
+    private static int dropTablesExtraDrops;
+
     private Map<Pair<Integer, Boolean>, Float> dropmap = null;
-    private float totalWeight;
+    private AliasTable<Pair<Integer, Boolean>> dropTable;
     private int multiplier = 1;
 
     protected final byte TIER_MULTIPLIER;
@@ -94,6 +104,14 @@ public abstract class GT_TileEntity_VoidMiner_Base extends GT_MetaTileEntity_Dri
                 .put(DimensionID, new Pair<>(new Pair<>(((Materials) Material).mMetaItemSubID, false), weight));
         else if (Material instanceof Werkstoff) getExtraDropsDimMap()
                 .put(DimensionID, new Pair<>(new Pair<>((int) ((Werkstoff) Material).getmID(), true), weight));
+        invalidateDropTables();
+    }
+
+    /**
+     * Drops the shared drop tables of all dimensions, they are rebuilt by the next VM needing one
+     */
+    public static void invalidateDropTables() {
+        DROP_TABLES.clear();
     }
 
     // adding tellurium to OW to ensure a way to get it, as it's used in Magneto Resonatic Dust and Circuit Compound MK3
@@ -153,10 +171,9 @@ public abstract class GT_TileEntity_VoidMiner_Base extends GT_MetaTileEntity_Dri
     @Override
     protected boolean workingAtBottom(ItemStack aStack, int xDrill, int yDrill, int zDrill, int xPipe, int zPipe,
             int yHead, int oldYHead) {
-        // if the dropmap has never been initialised or if the dropmap is empty
-        if (this.dropmap == null || this.totalWeight == 0) this.calculateDropMap();
+        this.dropTable = this.getDropTable();
 
-        if (this.totalWeight != 0.f) {
+        if (!this.dropTable.isEmpty()) {
             this.handleFluidConsumption();
             this.handleOutputs();
             return true;
@@ -332,14 +349,7 @@ public abstract class GT_TileEntity_VoidMiner_Base extends GT_MetaTileEntity_Dri
      * @return the chosen key
      */
     private Pair<Integer, Boolean> getOreDamage() {
-        float curentWeight = 0.f;
-        while (true) {
-            float randomnumber = XSTR.XSTR_INSTANCE.nextFloat() * this.totalWeight;
-            for (Map.Entry<Pair<Integer, Boolean>, Float> entry : this.dropmap.entrySet()) {
-                curentWeight += entry.getValue();
-                if (randomnumber < curentWeight) return entry.getKey();
-            }
-        }
+        return this.dropTable.sample(XSTR.XSTR_INSTANCE);
     }
 
     /**
@@ -473,14 +483,6 @@ public abstract class GT_TileEntity_VoidMiner_Base extends GT_MetaTileEntity_Dri
                 .ifPresent(e -> e.forEach(f -> this.addDrop(f.getKey(), f.getValue())));
     }
 
-    /**
-     * Computes the total weight for normalisation
-     */
-    private void calculateTotalWeight() {
-        this.totalWeight = 0.0f;
-        this.dropmap.values().forEach(f -> this.totalWeight += f);
-    }
-
     /**
      * Computes the ores of the dim for the specifed dim id
      *
@@ -512,15 +514,39 @@ public abstract class GT_TileEntity_VoidMiner_Base extends GT_MetaTileEntity_Dri
     }
 
     /**
-     * Computes first the ores related to the dim the VM is in, then the ores added manually, then it computes the
-     * totalweight for normalisation
+     * Computes first the ores related to the dim the VM is in, then the ores added manually, then it builds the alias
+     * table used for sampling
      */
-    private void calculateDropMap() {
+    private AliasTable<Pair<Integer, Boolean>> calculateDropMap(int id) {
         this.dropmap = new HashMap<>();
-        int id = this.getBaseMetaTileEntity().getWorld().provider.dimensionId;
         this.handleModDimDef(id);
         this.handleExtraDrops(id);
-        this.calculateTotalWeight();
+        AliasTable<Pair<Integer, Boolean>> ret = new AliasTable<>(this.dropmap);
+        this.dropmap = null;
+        return ret;
+    }
+
+    /**
+     * Gets the drop table of the dim the VM is in, shared with every other VM there. Empty tables are not shared, so
+     * they are retried like before.
+     *
+     * @return the drop table
+     */
+    private AliasTable<Pair<Integer, Boolean>> getDropTable() {
+        // catches changes done directly to the multimap or by a config reload
+        if (dropTablesBlacklist != ConfigHandler.voidMinerBlacklist
+                || dropTablesExtraDrops != getExtraDropsDimMap().size()) {
+            invalidateDropTables();
+            dropTablesBlacklist = ConfigHandler.voidMinerBlacklist;
+            dropTablesExtraDrops = getExtraDropsDimMap().size();
+        }
+        int id = this.getBaseMetaTileEntity().getWorld().provider.dimensionId;
+        AliasTable<Pair<Integer, Boolean>> ret = DROP_TABLES.get(id);
+        if (ret == null) {
+            ret = this.calculateDropMap(id);
+            if (!ret.isEmpty()) DROP_TABLES.put(id, ret);
+        }
+        return ret;
     }
 
     /**
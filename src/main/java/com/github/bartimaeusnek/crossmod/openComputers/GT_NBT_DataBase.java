@@ -15,50 +15,99 @@ package com.github.bartimaeusnek.crossmod.openComputers;
 
 import net.minecraft.nbt.NBTTagCompound;
 
-import com.google.common.collect.BiMap;
-import com.google.common.collect.HashBiMap;
-
+/**
+ * Handle to an entry of the {@link GT_NBT_DataStore}, the tag itself is only read when it is asked for.
+ */
 public class GT_NBT_DataBase {
 
-    private static final BiMap<NBTTagCompound, Long> tagIdBiMap = HashBiMap.create();
-    private static final BiMap<GT_NBT_DataBase, Long> GTNBTBIMAP = HashBiMap.create();
-
-    private static long maxID = Long.MIN_VALUE + 1;
-
+    // only set for entries that are not registered in the store
     private final NBTTagCompound tagCompound;
+    private final String hash;
 
     private final String mDataName;
     private final String mDataTitle;
     private long id;
 
     GT_NBT_DataBase(String mDataName, String mDataTitle, NBTTagCompound tagCompound) {
-        this.mDataName = mDataName;
-        this.mDataTitle = mDataTitle;
-        this.tagCompound = tagCompound;
-        this.id = GT_NBT_DataBase.maxID;
-        GT_NBT_DataBase.tagIdBiMap.put(tagCompound, this.id);
-        GT_NBT_DataBase.GTNBTBIMAP.put(this, this.id);
-        ++GT_NBT_DataBase.maxID;
+        GT_NBT_DataStore store = GT_NBT_DataStore.get();
+        if (store == null) {
+            this.tagCompound = tagCompound;
+            this.hash = null;
+            this.mDataName = mDataName;
+            this.mDataTitle = mDataTitle;
+            this.id = Long.MIN_VALUE;
+        } else {
+            // an already known tag keeps the entry it was registered with
+            GT_NBT_DataStore.Entry entry = store
+                    .put(GT_NBT_DataStore.hash(tagCompound), mDataName, mDataTitle, tagCompound);
+            this.tagCompound = null;
+            this.hash = entry.hash;
+            this.mDataName = entry.name;
+            this.mDataTitle = entry.title;
+            this.id = entry.id;
+        }
+    }
+
+    private GT_NBT_DataBase(GT_NBT_DataStore.Entry entry) {
+        this.tagCompound = null;
+        this.hash = entry.hash;
+        this.mDataName = entry.name;
+        this.mDataTitle = entry.title;
+        this.id = entry.id;
+    }
+
+    static GT_NBT_DataBase getGTTagFromHash(String hash) {
+        GT_NBT_DataStore store = GT_NBT_DataStore.get();
+        GT_NBT_DataStore.Entry entry = store == null ? null : store.getByHash(hash);
+        return entry == null ? null : new GT_NBT_DataBase(entry);
     }
 
     static GT_NBT_DataBase getGTTagFromId(Long id) {
-        return GT_NBT_DataBase.GTNBTBIMAP.inverse().get(id);
+        GT_NBT_DataStore store = GT_NBT_DataStore.get();
+        GT_NBT_DataStore.Entry entry = store == null || id == null ? null : store.getById(id);
+        return entry == null ? null : new GT_NBT_DataBase(entry);
     }
 
     static Long getIdFromGTTag(GT_NBT_DataBase tagCompound) {
-        return GT_NBT_DataBase.GTNBTBIMAP.get(tagCompound);
+        return tagCompound.hash == null ? null : tagCompound.id;
     }
 
     static NBTTagCompound getTagFromId(Long id) {
-        return GT_NBT_DataBase.tagIdBiMap.inverse().get(id);
+        GT_NBT_DataStore store = GT_NBT_DataStore.get();
+        GT_NBT_DataStore.Entry entry = store == null || id == null ? null : store.getById(id);
+        return entry == null ? null : store.getTag(entry);
     }
 
     static Long getIdFromTag(NBTTagCompound tagCompound) {
-        return GT_NBT_DataBase.tagIdBiMap.get(tagCompound);
+        GT_NBT_DataStore store = GT_NBT_DataStore.get();
+        GT_NBT_DataStore.Entry entry = store == null ? null : store.getByHash(GT_NBT_DataStore.hash(tagCompound));
+        return entry == null ? null : entry.id;
     }
 
     public NBTTagCompound getTagCompound() {
-        return this.tagCompound;
+        if (this.hash == null) return this.tagCompound;
+        GT_NBT_DataStore store = GT_NBT_DataStore.get();
+        GT_NBT_DataStore.Entry entry = store == null ? null : store.getByHash(this.hash);
+        return entry == null ? null : store.getTag(entry);
+    }
+
+    /**
+     * @return the hash of the store entry, null if this is not registered
+     */
+    String getHash() {
+        return this.hash;
+    }
+
+    void retain() {
+        GT_NBT_DataStore store = GT_NBT_DataStore.get();
+        GT_NBT_DataStore.Entry entry = store == null || this.hash == null ? null : store.getByHash(this.hash);
+        if (entry != null) store.retain(entry);
+    }
+
+    void release() {
+        GT_NBT_DataStore store = GT_NBT_DataStore.get();
+        GT_NBT_DataStore.Entry entry = store == null || this.hash == null ? null : store.getByHash(this.hash);
+        if (entry != null) store.release(entry);
     }
 
     public String getmDataName() {
@@ -66,7 +115,8 @@ public class GT_NBT_DataBase {
     }
 
     static long getMaxID() {
-        return GT_NBT_DataBase.maxID;
+        GT_NBT_DataStore store = GT_NBT_DataStore.get();
+        return store == null ? Long.MIN_VALUE + 1 : store.getMaxID();
     }
 
     public String getmDataTitle() {
@@ -81,8 +131,21 @@ public class GT_NBT_DataBase {
         this.id = id;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof GT_NBT_DataBase other) || this.hash == null) return false;
+        return this.hash.equals(other.hash) && this.id == other.id;
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hash == null ? System.identityHashCode(this) : this.hash.hashCode();
+    }
+
     private GT_NBT_DataBase(NBTTagCompound tagCompound, String mDataName, String mDataTitle, long id) {
         this.tagCompound = tagCompound;
+        this.hash = null;
         this.mDataName = mDataName;
         this.mDataTitle = mDataTitle;
         this.id = id;
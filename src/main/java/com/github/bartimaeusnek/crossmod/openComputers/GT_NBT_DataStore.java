@@ -0,0 +1,305 @@
+package com.github.bartimaeusnek.crossmod.openComputers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.WorldSavedData;
+import net.minecraft.world.storage.MapStorage;
+import net.minecraftforge.common.DimensionManager;
+import net.minecraftforge.common.util.Constants;
+
+import com.github.bartimaeusnek.bartworks.MainMod;
+import com.github.bartimaeusnek.bartworks.util.MurmurHash3;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Content addressed storage for the data imprinted on Data Orbs and Sticks. Every tag is keyed by the
+ * MurmurHash3_x64_128 of its serialized form, so it is only compared by hash and stored once no matter how many items
+ * carry it. The index of all entries is saved with the overworld, the tags themselves go gzipped into one file per
+ * entry under bartworks/gtdata in the world save. Files are written and deleted on a background thread. Tags are read
+ * on first use and dropped from memory again once they are on disk and were not used for {@link #IDLE_TIME} ns.
+ * <p>
+ * Every entry counts the Data Servers holding it, an entry no server holds anymore is removed together with its file.
+ * Files without an entry are removed when the index is loaded.
+ */
+class GT_NBT_DataStore extends WorldSavedData {
+
+    private static final String NAME = "bartworks_gtdata";
+    private static final long IDLE_TIME = TimeUnit.MINUTES.toNanos(5);
+    private static final long SWEEP_INTERVAL = TimeUnit.MINUTES.toNanos(1);
+
+    // one thread, so a delete never overtakes the write of the same file
+    private static final ExecutorService IO = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("BartWorks GT data IO").setDaemon(true).build());
+
+    static final class Entry {
+
+        final String hash;
+        final long id;
+        final String name;
+        final String title;
+        private NBTTagCompound tag;
+        private long lastAccess;
+        private int references;
+        // set by the IO thread once the tag is on disk, only then it may be dropped from memory
+        private volatile boolean written;
+
+        private Entry(String hash, long id, String name, String title) {
+            this.hash = hash;
+            this.id = id;
+            this.name = name;
+            this.title = title;
+        }
+    }
+
+    private final Map<String, Entry> byHash = new HashMap<>();
+    private final Map<Long, Entry> byId = new HashMap<>();
+    private long maxID = Long.MIN_VALUE + 1;
+    private long lastSweep = System.nanoTime();
+    private Future<?> lastIO;
+
+    public GT_NBT_DataStore(String name) {
+        super(name);
+    }
+
+    static GT_NBT_DataStore get() {
+        MinecraftServer server = MinecraftServer.getServer();
+        if (server == null || server.worldServerForDimension(0) == null) return null;
+        MapStorage storage = server.worldServerForDimension(0).mapStorage;
+        GT_NBT_DataStore ret = (GT_NBT_DataStore) storage.loadData(GT_NBT_DataStore.class, NAME);
+        if (ret == null) {
+            ret = new GT_NBT_DataStore(NAME);
+            storage.setData(NAME, ret);
+        }
+        return ret;
+    }
+
+    /**
+     * @return the content hash of the tag as 32 hex digits
+     */
+    static String hash(NBTTagCompound tag) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            CompressedStreamTools.write(tag, new DataOutputStream(bytes));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        MurmurHash3.LongPair out = new MurmurHash3.LongPair();
+        MurmurHash3.murmurhash3_x64_128(bytes.toByteArray(), 0, bytes.size(), 0, out);
+        return String.format("%016x%016x", out.val1, out.val2);
+    }
+
+    long getMaxID() {
+        return this.maxID;
+    }
+
+    Entry getByHash(String hash) {
+        return this.byHash.get(hash);
+    }
+
+    Entry getById(long id) {
+        return this.byId.get(id);
+    }
+
+    /**
+     * Adds the tag if there is no entry with its hash yet.
+     */
+    Entry put(String hash, String name, String title, NBTTagCompound tag) {
+        long now = System.nanoTime();
+        this.evictIdle(now);
+        Entry entry = this.byHash.get(hash);
+        if (entry != null) return entry;
+        entry = new Entry(hash, this.maxID++, name, title);
+        entry.tag = (NBTTagCompound) tag.copy();
+        entry.lastAccess = now;
+        this.write(entry);
+        this.byHash.put(hash, entry);
+        this.byId.put(entry.id, entry);
+        this.markDirty();
+        return entry;
+    }
+
+    /**
+     * A Data Server holds the entry now.
+     */
+    void retain(Entry entry) {
+        entry.references++;
+        this.markDirty();
+    }
+
+    /**
+     * A Data Server let go of the entry, it is removed if no other one holds it.
+     */
+    void release(Entry entry) {
+        if (--entry.references > 0 || this.byHash.get(entry.hash) != entry) {
+            this.markDirty();
+            return;
+        }
+        this.byHash.remove(entry.hash);
+        this.byId.remove(entry.id);
+        entry.tag = null;
+        File file = this.getFile(entry.hash);
+        this.submit(() -> {
+            if (file.exists() && !file.delete()) MainMod.LOGGER.warn("Could not delete GT data " + file);
+        });
+        this.markDirty();
+    }
+
+    /**
+     * @return the tag of the entry, read from disk if it is not in memory, or null if that failed
+     */
+    NBTTagCompound getTag(Entry entry) {
+        long now = System.nanoTime();
+        if (entry.tag == null) {
+            try (InputStream in = new FileInputStream(this.getFile(entry.hash))) {
+                entry.tag = CompressedStreamTools.readCompressed(in).getCompoundTag("data");
+            } catch (IOException e) {
+                MainMod.LOGGER.error("Could not load GT data " + entry.hash, e);
+            }
+        }
+        entry.lastAccess = now;
+        this.evictIdle(now);
+        return entry.tag;
+    }
+
+    /**
+     * Drops the tags that are on disk and were not used for a while, runs at most once per {@link #SWEEP_INTERVAL}.
+     */
+    void evictIdle() {
+        this.evictIdle(System.nanoTime());
+    }
+
+    private void evictIdle(long now) {
+        if (now - this.lastSweep < SWEEP_INTERVAL) return;
+        this.lastSweep = now;
+        for (Entry entry : this.byHash.values()) {
+            if (entry.written && now - entry.lastAccess > IDLE_TIME) entry.tag = null;
+        }
+    }
+
+    private File getFile(String hash) {
+        return new File(this.getDirectory(), hash.substring(0, 2) + "/" + hash + ".dat");
+    }
+
+    private File getDirectory() {
+        return new File(DimensionManager.getCurrentSaveRootDirectory(), "bartworks/gtdata");
+    }
+
+    private void submit(Runnable task) {
+        this.lastIO = IO.submit(task);
+    }
+
+    // the tag of an entry is never modified, so the IO thread may read it while it is still in use here
+    private void write(Entry entry) {
+        File file = this.getFile(entry.hash);
+        NBTTagCompound wrapped = new NBTTagCompound();
+        wrapped.setTag("data", entry.tag);
+        this.submit(() -> {
+            File tmp = new File(file.getPath() + ".tmp");
+            try {
+                file.getParentFile().mkdirs();
+                try (OutputStream out = new FileOutputStream(tmp)) {
+                    CompressedStreamTools.writeCompressed(wrapped, out);
+                }
+                if (file.exists() && !file.delete() || !tmp.renameTo(file))
+                    throw new IOException("Could not move " + tmp + " to " + file);
+                entry.written = true;
+            } catch (IOException e) {
+                MainMod.LOGGER.error("Could not save GT data " + entry.hash + ", keeping it in memory", e);
+            }
+        });
+    }
+
+    // deletes every file that has no entry, including the leftovers of interrupted writes
+    private void deleteOrphans() {
+        Set<String> known = new HashSet<>(this.byHash.keySet());
+        File directory = this.getDirectory();
+        this.submit(() -> {
+            File[] buckets = directory.listFiles();
+            if (buckets == null) return;
+            for (File bucket : buckets) {
+                File[] files = bucket.listFiles();
+                if (files == null) continue;
+                for (File file : files) {
+                    String name = file.getName();
+                    if (name.endsWith(".dat") && known.contains(name.substring(0, name.length() - 4))) continue;
+                    if (!file.delete()) MainMod.LOGGER.warn("Could not delete GT data " + file);
+                }
+            }
+        });
+    }
+
+    /**
+     * Blocks until every pending write and delete is done.
+     */
+    private void flush() {
+        if (this.lastIO == null) return;
+        try {
+            this.lastIO.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            MainMod.LOGGER.error("GT data IO failed", e);
+        }
+    }
+
+    @Override
+    public void readFromNBT(NBTTagCompound compound) {
+        this.byHash.clear();
+        this.byId.clear();
+        this.maxID = Math.max(compound.getLong("maxID"), Long.MIN_VALUE + 1);
+        NBTTagList list = compound.getTagList("entries", Constants.NBT.TAG_COMPOUND);
+        for (int i = 0; i < list.tagCount(); i++) {
+            NBTTagCompound tag = list.getCompoundTagAt(i);
+            Entry entry = new Entry(
+                    tag.getString("hash"),
+                    tag.getLong("id"),
+                    tag.getString("name"),
+                    tag.getString("title"));
+            entry.references = tag.getInteger("references");
+            entry.written = true;
+            // nothing holds it anymore, its file goes with the orphans
+            if (entry.references <= 0) continue;
+            this.byHash.put(entry.hash, entry);
+            this.byId.put(entry.id, entry);
+        }
+        this.deleteOrphans();
+    }
+
+    @Override
+    public void writeToNBT(NBTTagCompound compound) {
+        // the index must not point at files that are not there yet
+        this.flush();
+        compound.setLong("maxID", this.maxID);
+        NBTTagList list = new NBTTagList();
+        for (Entry entry : this.byHash.values()) {
+            NBTTagCompound tag = new NBTTagCompound();
+            tag.setString("hash", entry.hash);
+            tag.setLong("id", entry.id);
+            tag.setString("name", entry.name);
+            tag.setString("title", entry.title);
+            tag.setInteger("references", entry.references);
+            list.appendTag(tag);
+        }
+        compound.setTag("entries", list);
+    }
+}
@@ -13,7 +13,9 @@
 
 package com.github.bartimaeusnek.crossmod.openComputers;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -21,7 +23,11 @@ import net.minecraft.client.renderer.texture.IIconRegister;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.inventory.ISidedInventory;
 import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagString;
 import net.minecraft.tileentity.TileEntity;
+import net.minecraftforge.common.util.Constants;
 
 import com.github.bartimaeusnek.bartworks.API.ITileAddsInformation;
 import com.github.bartimaeusnek.bartworks.API.ITileHasDifferentTextureSides;
@@ -47,6 +53,10 @@ public class TileEntity_GTDataServer extends TileEntity
 
     private ItemStack[] mItems = new ItemStack[2];
     private byte TickTimer;
+    // copy of the last stored tag, to notice items edited in place
+    private NBTTagCompound mLastTag;
+    // hashes read from NBT, resolved once the store is there
+    private List<String> mLoadedHashes;
 
     @Optional.Method(modid = Mods.Names.OPEN_COMPUTERS)
     public String getComponentName() {
@@ -78,44 +88,80 @@ public class TileEntity_GTDataServer extends TileEntity
         if (this.TickTimer++ % 20 != 0) return;
 
         if (this.isServerSide()) {
-            if (GT_Utility.areStacksEqual(this.mItems[0], ItemList.Tool_DataOrb.get(1))
-                    && this.mItems[0].hasTagCompound()) {
-                if (GT_NBT_DataBase.getIdFromTag(this.mItems[0].getTagCompound()) == null) {
-                    this.OrbDataBase.put(
-                            GT_NBT_DataBase.getMaxID(),
-                            new GT_NBT_DataBase(
-                                    Behaviour_DataOrb.getDataName(this.mItems[0]),
-                                    Behaviour_DataOrb.getDataTitle(this.mItems[0]),
-                                    this.mItems[0].getTagCompound()));
-                } else {
-                    long id = GT_NBT_DataBase.getIdFromTag(this.mItems[0].getTagCompound());
-                    this.OrbDataBase.put(id, GT_NBT_DataBase.getGTTagFromId(id));
+            GT_NBT_DataStore store = GT_NBT_DataStore.get();
+            if (store == null) return;
+            store.evictIdle();
+            if (this.mLoadedHashes != null) {
+                for (String hash : this.mLoadedHashes) {
+                    GT_NBT_DataBase entry = GT_NBT_DataBase.getGTTagFromHash(hash);
+                    if (entry != null) this.OrbDataBase.put(entry.getId(), entry);
                 }
+                this.mLoadedHashes = null;
             }
-            if (GT_Utility.areStacksEqual(this.mItems[0], ItemList.Tool_DataStick.get(1))
-                    && this.mItems[0].hasTagCompound()) {
 
-                String bookTitle = GT_Utility.ItemNBT.getBookTitle(this.mItems[0]);
-                String punchcardData = GT_Utility.ItemNBT.getPunchCardData(this.mItems[0]);
-                short mapID = GT_Utility.ItemNBT.getMapID(this.mItems[0]);
+            ItemStack stack = this.mItems[0];
+            // hashing the tag is the expensive part, an item that is left in the slot only needs it once
+            if (stack == null || !stack.hasTagCompound() || stack.getTagCompound().equals(this.mLastTag)) return;
+
+            GT_NBT_DataBase entry = null;
+            if (GT_Utility.areStacksEqual(stack, ItemList.Tool_DataOrb.get(1))) {
+                entry = new GT_NBT_DataBase(
+                        Behaviour_DataOrb.getDataName(stack),
+                        Behaviour_DataOrb.getDataTitle(stack),
+                        stack.getTagCompound());
+            } else if (GT_Utility.areStacksEqual(stack, ItemList.Tool_DataStick.get(1))) {
+                String bookTitle = GT_Utility.ItemNBT.getBookTitle(stack);
+                String punchcardData = GT_Utility.ItemNBT.getPunchCardData(stack);
+                short mapID = GT_Utility.ItemNBT.getMapID(stack);
                 byte data = (byte) (bookTitle.isEmpty() ? punchcardData.isEmpty() ? mapID != -1 ? 3 : -1 : 2 : 1);
 
                 String title = data == 1 ? bookTitle
                         : data == 2 ? punchcardData : data == 3 ? "" + mapID : "Custom Data";
                 String name = data == 1 ? "eBook"
                         : data == 2 ? "Punch Card Data" : data == 3 ? "Map Data" : "Custom Data";
-                if (GT_NBT_DataBase.getIdFromTag(this.mItems[0].getTagCompound()) == null) {
-                    this.OrbDataBase.put(
-                            GT_NBT_DataBase.getMaxID(),
-                            new GT_NBT_DataBase(name, title, this.mItems[0].getTagCompound()));
-                } else {
-                    long id = GT_NBT_DataBase.getIdFromTag(this.mItems[0].getTagCompound());
-                    this.OrbDataBase.put(id, GT_NBT_DataBase.getGTTagFromId(id));
+                entry = new GT_NBT_DataBase(name, title, stack.getTagCompound());
+            }
+            if (entry != null) {
+                if (!this.OrbDataBase.containsKey(entry.getId())) {
+                    this.OrbDataBase.put(entry.getId(), entry);
+                    entry.retain();
                 }
+                this.mLastTag = (NBTTagCompound) stack.getTagCompound().copy();
             }
         }
     }
 
+    @Override
+    public void invalidate() {
+        super.invalidate();
+        if (this.worldObj == null || this.worldObj.isRemote) return;
+        // the block is gone, the store may drop what only this server held
+        for (GT_NBT_DataBase entry : this.OrbDataBase.values()) entry.release();
+        this.OrbDataBase.clear();
+    }
+
+    @Override
+    public void writeToNBT(NBTTagCompound compound) {
+        super.writeToNBT(compound);
+        NBTTagList entries = new NBTTagList();
+        if (this.mLoadedHashes != null) {
+            for (String hash : this.mLoadedHashes) entries.appendTag(new NBTTagString(hash));
+        }
+        for (GT_NBT_DataBase entry : this.OrbDataBase.values()) {
+            String hash = entry.getHash();
+            if (hash != null) entries.appendTag(new NBTTagString(hash));
+        }
+        compound.setTag("entries", entries);
+    }
+
+    @Override
+    public void readFromNBT(NBTTagCompound compound) {
+        super.readFromNBT(compound);
+        NBTTagList entries = compound.getTagList("entries", Constants.NBT.TAG_STRING);
+        this.mLoadedHashes = new ArrayList<>(entries.tagCount());
+        for (int i = 0; i < entries.tagCount(); i++) this.mLoadedHashes.add(entries.getStringTagAt(i));
+    }
+
     @Override
     public String[] getInfoData() {
         return new String[0];
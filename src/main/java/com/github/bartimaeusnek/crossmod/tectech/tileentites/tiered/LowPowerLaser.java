@@ -55,63 +55,60 @@ public interface LowPowerLaser extends IMetaTileEntity, IConnectsToEnergyTunnel
         return this.getAMPERES() * Math.max(this.maxEUOutput(), this.maxEUInput()) - this.getAMPERES() / 20;
     }
 
+    /**
+     * @return the line resolved by the last {@link #moveAroundLowPower}, null if this does not cache it
+     */
+    default LowPowerLaserLink getLowPowerLaserLink() {
+        return null;
+    }
+
+    default void setLowPowerLaserLink(LowPowerLaserLink link) {}
+
     default void moveAroundLowPower(IGregTechTileEntity aBaseMetaTileEntity) {
         byte color = this.getBaseMetaTileEntity().getColorization();
         if (color >= 0) {
             ForgeDirection front = aBaseMetaTileEntity.getFrontFacing();
             ForgeDirection opposite = front.getOpposite();
 
-            for (short dist = 1; dist < 250; ++dist) {
-                IGregTechTileEntity tGTTileEntity = aBaseMetaTileEntity
-                        .getIGregTechTileEntityAtSideAndDistance(front, dist);
-                if (tGTTileEntity == null || tGTTileEntity.getColorization() != color) {
-                    return;
-                }
+            LowPowerLaserLink link = this.getLowPowerLaserLink();
+            if (link == null || !link.isValid(aBaseMetaTileEntity, color, front)) {
+                link = LowPowerLaserLink.resolve(aBaseMetaTileEntity, color, front);
+                this.setLowPowerLaserLink(link);
+            }
 
-                IMetaTileEntity aMetaTileEntity = tGTTileEntity.getMetaTileEntity();
-                if (aMetaTileEntity == null) {
-                    return;
-                }
+            IGregTechTileEntity tGTTileEntity = link.getEnd();
+            if (tGTTileEntity == null || tGTTileEntity.getColorization() != color) {
+                return;
+            }
 
-                if (aMetaTileEntity instanceof LowPowerLaser lowPowerLaser && lowPowerLaser.isReceiver()
-                        && opposite == tGTTileEntity.getFrontFacing()) {
-                    if (this.maxEUOutput() > lowPowerLaser.maxEUInput()
-                            || this.getAMPERES() > lowPowerLaser.getAMPERES()) {
-                        aMetaTileEntity.doExplosion(this.maxEUOutput());
-                        this.setEUVar(aBaseMetaTileEntity.getStoredEU() - this.maxEUOutput());
-                        return;
-                    }
-
-                    if (this.maxEUOutput() == lowPowerLaser.maxEUInput()) {
-                        long diff = Math.min(
-                                this.getAMPERES() * 20L * this.maxEUOutput(),
-                                Math.min(
-                                        lowPowerLaser.maxEUStore()
-                                                - aMetaTileEntity.getBaseMetaTileEntity().getStoredEU(),
-                                        aBaseMetaTileEntity.getStoredEU()));
-                        this.setEUVar(aBaseMetaTileEntity.getStoredEU() - diff);
-                        lowPowerLaser.setEUVar(aMetaTileEntity.getBaseMetaTileEntity().getStoredEU() + diff);
-                    }
-                    return;
-                }
+            IMetaTileEntity aMetaTileEntity = tGTTileEntity.getMetaTileEntity();
+            if (aMetaTileEntity == null) {
+                return;
+            }
 
-                if ((!(aMetaTileEntity instanceof LowPowerLaser lowPowerLaser) || !lowPowerLaser.isTunnel())
-                        && !(aMetaTileEntity instanceof GT_MetaTileEntity_Pipe_Energy)) {
+            if (aMetaTileEntity instanceof LowPowerLaser lowPowerLaser && lowPowerLaser.isReceiver()
+                    && opposite == tGTTileEntity.getFrontFacing()) {
+                if (this.maxEUOutput() > lowPowerLaser.maxEUInput() || this.getAMPERES() > lowPowerLaser.getAMPERES()) {
+                    aMetaTileEntity.doExplosion(this.maxEUOutput());
+                    this.setEUVar(aBaseMetaTileEntity.getStoredEU() - this.maxEUOutput());
                     return;
                 }
 
-                if (aMetaTileEntity instanceof GT_MetaTileEntity_Pipe_Energy tePipeEnergy) {
-                    if (tePipeEnergy.connectionCount < 2) {
-                        return;
-                    }
-                    tePipeEnergy.markUsed();
-                    return;
+                if (this.maxEUOutput() == lowPowerLaser.maxEUInput()) {
+                    long diff = Math.min(
+                            this.getAMPERES() * 20L * this.maxEUOutput(),
+                            Math.min(
+                                    lowPowerLaser.maxEUStore() - aMetaTileEntity.getBaseMetaTileEntity().getStoredEU(),
+                                    aBaseMetaTileEntity.getStoredEU()));
+                    this.setEUVar(aBaseMetaTileEntity.getStoredEU() - diff);
+                    lowPowerLaser.setEUVar(aMetaTileEntity.getBaseMetaTileEntity().getStoredEU() + diff);
                 }
+                return;
+            }
 
-                if (aMetaTileEntity instanceof LowPowerLaser lowPowerLaser && lowPowerLaser.isTunnel()
-                        && !lowPowerLaser.isConnectedCorrectly(front)) {
-                    return;
-                }
+            if (aMetaTileEntity instanceof GT_MetaTileEntity_Pipe_Energy tePipeEnergy
+                    && tePipeEnergy.connectionCount >= 2) {
+                tePipeEnergy.markUsed();
             }
         }
     }
@@ -0,0 +1,83 @@
+package com.github.bartimaeusnek.crossmod.tectech.tileentites.tiered;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.common.util.ForgeDirection;
+
+import gregtech.api.interfaces.metatileentity.IMetaTileEntity;
+import gregtech.api.interfaces.tileentity.IGregTechTileEntity;
+
+/**
+ * The resolved line in front of a {@link LowPowerLaser} sender, so a transfer does not have to look up every block up
+ * to the receiver again. The line stays valid as long as the sender keeps its color and facing, every tunnel in it is
+ * still there, colored and connected, all chunks it crosses stay loaded and the block it ends at does not extend it.
+ */
+public final class LowPowerLaserLink {
+
+    static final short MAX_DISTANCE = 250;
+
+    private final byte color;
+    private final ForgeDirection front;
+    private final IGregTechTileEntity[] tunnels;
+    private final Chunk[] chunks;
+    // the block the line ends at, null if there is no GT block at endDistance
+    private final IGregTechTileEntity end;
+    private final short endDistance;
+
+    private LowPowerLaserLink(byte color, ForgeDirection front, List<IGregTechTileEntity> tunnels, List<Chunk> chunks,
+            IGregTechTileEntity end, short endDistance) {
+        this.color = color;
+        this.front = front;
+        this.tunnels = tunnels.toArray(new IGregTechTileEntity[0]);
+        this.chunks = chunks.toArray(new Chunk[0]);
+        this.end = end;
+        this.endDistance = endDistance;
+    }
+
+    static LowPowerLaserLink resolve(IGregTechTileEntity aSender, byte color, ForgeDirection front) {
+        List<IGregTechTileEntity> tunnels = new ArrayList<>();
+        List<Chunk> chunks = new ArrayList<>();
+        for (short dist = 1; dist < MAX_DISTANCE; ++dist) {
+            IGregTechTileEntity tGTTileEntity = aSender.getIGregTechTileEntityAtSideAndDistance(front, dist);
+            if (tGTTileEntity == null) return new LowPowerLaserLink(color, front, tunnels, chunks, null, dist);
+
+            Chunk tChunk = tGTTileEntity.getWorld()
+                    .getChunkFromBlockCoords(tGTTileEntity.getXCoord(), tGTTileEntity.getZCoord());
+            if (chunks.isEmpty() || chunks.get(chunks.size() - 1) != tChunk) chunks.add(tChunk);
+
+            if (!isPassedThrough(tGTTileEntity, color, front))
+                return new LowPowerLaserLink(color, front, tunnels, chunks, tGTTileEntity, dist);
+            tunnels.add(tGTTileEntity);
+        }
+        return new LowPowerLaserLink(color, front, tunnels, chunks, null, MAX_DISTANCE);
+    }
+
+    // a connected tunnel of the same color, which the laser goes on through
+    private static boolean isPassedThrough(IGregTechTileEntity aTileEntity, byte color, ForgeDirection front) {
+        if (aTileEntity.getColorization() != color) return false;
+        IMetaTileEntity aMetaTileEntity = aTileEntity.getMetaTileEntity();
+        return aMetaTileEntity instanceof LowPowerLaser lowPowerLaser && lowPowerLaser.isTunnel()
+                && !(lowPowerLaser.isReceiver() && front.getOpposite() == aTileEntity.getFrontFacing())
+                && lowPowerLaser.isConnectedCorrectly(front);
+    }
+
+    boolean isValid(IGregTechTileEntity aSender, byte color, ForgeDirection front) {
+        if (this.color != color || this.front != front) return false;
+        for (Chunk tChunk : this.chunks) if (!tChunk.isChunkLoaded) return false;
+        for (IGregTechTileEntity tunnel : this.tunnels)
+            if (tunnel.isInvalidTileEntity() || !isPassedThrough(tunnel, color, front)) return false;
+        if (this.end != null) return !this.end.isInvalidTileEntity() && !isPassedThrough(this.end, color, front);
+        // the only lookup left, something might have been placed there
+        return this.endDistance >= MAX_DISTANCE
+                || aSender.getIGregTechTileEntityAtSideAndDistance(front, this.endDistance) == null;
+    }
+
+    /**
+     * @return the block the line ends at, the receiver if it is one
+     */
+    IGregTechTileEntity getEnd() {
+        return this.end;
+    }
+}
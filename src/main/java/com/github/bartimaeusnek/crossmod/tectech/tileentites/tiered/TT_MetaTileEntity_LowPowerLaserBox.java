@@ -26,6 +26,8 @@ import gregtech.api.util.GT_Utility;
 
 public class TT_MetaTileEntity_LowPowerLaserBox extends TT_Abstract_LowPowerLaserThingy {
 
+    private LowPowerLaserLink lowPowerLaserLink;
+
     public TT_MetaTileEntity_LowPowerLaserBox(int aID, String aName, String aNameRegional, int aTier, long aAmperes,
             ITexture... aTextures) {
         super(aID, aName, aNameRegional, aTier, aAmperes, 0, new String[0], aTextures);
@@ -36,6 +38,16 @@ public class TT_MetaTileEntity_LowPowerLaserBox extends TT_Abstract_LowPowerLase
         super(aName, aTier, aAmperes, 0, aDescription, aTextures);
     }
 
+    @Override
+    public LowPowerLaserLink getLowPowerLaserLink() {
+        return this.lowPowerLaserLink;
+    }
+
+    @Override
+    public void setLowPowerLaserLink(LowPowerLaserLink link) {
+        this.lowPowerLaserLink = link;
+    }
+
     @Override
     public boolean isSender() {
         return this.getBaseMetaTileEntity().isAllowedToWork();
@@ -29,6 +29,8 @@ import gregtech.api.util.GT_Utility;
 public class TT_MetaTileEntity_LowPowerLaserDynamo extends GT_MetaTileEntity_Hatch_DynamoTunnel
         implements LowPowerLaser {
 
+    private LowPowerLaserLink lowPowerLaserLink;
+
     public TT_MetaTileEntity_LowPowerLaserDynamo(int aID, String aName, String aNameRegional, int aTier, int aAmp) {
         super(aID, aName, aNameRegional, aTier, aAmp);
     }
@@ -48,6 +50,16 @@ public class TT_MetaTileEntity_LowPowerLaserDynamo extends GT_MetaTileEntity_Hat
                 this.mTextures);
     }
 
+    @Override
+    public LowPowerLaserLink getLowPowerLaserLink() {
+        return this.lowPowerLaserLink;
+    }
+
+    @Override
+    public void setLowPowerLaserLink(LowPowerLaserLink link) {
+        this.lowPowerLaserLink = link;
+    }
+
     @Override
     public boolean isSender() {
         return true;